@@ -17,22 +17,33 @@ package org.ifinalframework.boot.autoconfigure.flyway;
 
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
+import org.ifinalframework.boot.autoconfigure.sharding.ShardingDataSourceConfigurer;
 import org.ifinalframework.boot.flyway.CleanFlywaySchemaHistoryCallback;
 
+import org.apache.shardingsphere.driver.api.ShardingSphereDataSourceFactory;
 import org.flywaydb.core.Flyway;
 
+import javax.sql.DataSource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
 /**
  * FinalFlywayAutoConfiguration.
  *
  * @author iimik
- * @version 1.5.0
+ * @version 1.6.0
  * @since 1.5.0
  */
 @EnableConfigurationProperties(FinalFlywayProperties.class)
@@ -47,6 +58,27 @@ public class FinalFlywayAutoConfiguration {
     public CleanFlywaySchemaHistoryCallback cleanFlywaySchemaHistoryCallback(FinalFlywayProperties properties) {
         final CleanFlywaySchemaHistoryCallback callback = new CleanFlywaySchemaHistoryCallback();
         callback.setCleanSql(properties.getCleanSchemaHistorySql());
+        callback.setRetain(properties.getCleanSchemaHistoryRetain());
         return callback;
     }
+
+    /**
+     * migrate the data sources created by {@link ShardingDataSourceConfigurer} instead of the flyway data source.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(ShardingSphereDataSourceFactory.class)
+    @ConditionalOnProperty(prefix = "spring.flyway", name = "shard-migration", havingValue = "true")
+    static class ShardMigrationConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public FlywayMigrationStrategy finalFlywayMigrationStrategy(FinalFlywayProperties properties,
+                                                                    ShardingDataSourceConfigurer configurer) {
+            final Map<String, Callable<DataSource>> shards = new LinkedHashMap<>();
+            for (String name : configurer.getDataSourceNames()) {
+                shards.put(name, () -> configurer.createDataSource(name));
+            }
+            return new FinalFlywayMigrationStrategy(shards, properties.getShardMigrationThreads());
+        }
+    }
 }
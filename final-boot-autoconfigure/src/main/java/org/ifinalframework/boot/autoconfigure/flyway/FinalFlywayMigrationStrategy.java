@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.flyway;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.output.MigrateResult;
+
+import javax.sql.DataSource;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A {@link FlywayMigrationStrategy} which migrates the sharding data sources by a bounded parallel executor.
+ *
+ * <p>The shards are independent, so a failed shard does not stop the others, all the failures are reported together
+ * after every shard finished.</p>
+ *
+ * <p>The checksums are validated by every migration as Flyway does, there is no cache skipping the validation: the
+ * migrations are resolved and read by the migration anyway, so skipping only the comparison saves nothing measurable.
+ * {@code spring.flyway.validate-on-migrate=false} turns the validation off for those who accept the risk.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Slf4j
+public class FinalFlywayMigrationStrategy implements FlywayMigrationStrategy {
+
+    private final Map<String, Callable<DataSource>> shards;
+
+    private final int threads;
+
+    /**
+     * @param shards  the data source factories of the shards, the flyway data source is migrated if empty
+     * @param threads the max shards migrated at the same time
+     */
+    public FinalFlywayMigrationStrategy(Map<String, Callable<DataSource>> shards, int threads) {
+        this.shards = shards;
+        this.threads = threads;
+    }
+
+    @Override
+    public void migrate(Flyway flyway) {
+        if (shards.isEmpty()) {
+            flyway.migrate();
+            return;
+        }
+
+        final int total = shards.size();
+        final AtomicInteger finished = new AtomicInteger();
+        final Map<String, Exception> failures = new ConcurrentSkipListMap<>();
+        final int parallelism = Math.max(1, Math.min(threads, total));
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                new CustomizableThreadFactory("flyway-migrate-"));
+        logger.info("flyway migrating {} shards by {} threads.", total, parallelism);
+        try {
+            CompletableFuture.allOf(shards.entrySet().stream()
+                    .map(entry -> CompletableFuture.runAsync(() -> {
+                        final String name = entry.getKey();
+                        final long start = System.currentTimeMillis();
+                        try {
+                            final MigrateResult result = migrate(entry.getValue(), flyway.getConfiguration());
+                            logger.info("[{}/{}] flyway migrated shard {} to {} with {} migrations in {}ms.",
+                                    finished.incrementAndGet(), total, name, result.targetSchemaVersion,
+                                    result.migrationsExecuted, System.currentTimeMillis() - start);
+                        } catch (Exception e) {
+                            logger.error("[{}/{}] flyway migrate shard {} failed in {}ms.",
+                                    finished.incrementAndGet(), total, name, System.currentTimeMillis() - start, e);
+                            failures.put(name, e);
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        if (!failures.isEmpty()) {
+            final FlywayException exception = new FlywayException("flyway migrate failed on shards " + failures.keySet());
+            failures.values().forEach(exception::addSuppressed);
+            throw exception;
+        }
+    }
+
+    private MigrateResult migrate(Callable<DataSource> factory, Configuration configuration) throws Exception {
+        final DataSource dataSource = factory.call();
+        try {
+            return Flyway.configure(configuration.getClassLoader())
+                    .configuration(configuration).dataSource(dataSource).load().migrate();
+        } finally {
+            close(dataSource);
+        }
+    }
+
+    private static void close(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) dataSource).close();
+            } catch (Exception e) {
+                logger.warn("close flyway data source error: {}", e.getMessage());
+            }
+        }
+    }
+
+}
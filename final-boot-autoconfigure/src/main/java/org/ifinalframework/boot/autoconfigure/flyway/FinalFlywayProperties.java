@@ -17,6 +17,8 @@ package org.ifinalframework.boot.autoconfigure.flyway;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import org.ifinalframework.boot.flyway.CleanFlywaySchemaHistoryCallback;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -24,7 +26,7 @@ import lombok.Setter;
  * FlywayProperties.
  *
  * @author iimik
- * @version 1.5.0
+ * @version 1.6.0
  * @see org.springframework.boot.autoconfigure.flyway.FlywayProperties
  * @since 1.5.0
  */
@@ -39,4 +41,23 @@ public class FinalFlywayProperties {
     private boolean cleanSchemaHistoryOnAfterMigrateOperationFinish = false;
 
     private String cleanSchemaHistorySql = "TRUNCATE TABLE flyway_schema_history;";
+
+    /**
+     * retain the last versioned rows of the schema history instead of executing the {@link #cleanSchemaHistorySql}, it requires
+     * {@code spring.flyway.ignore-migration-patterns} to contain {@code *:ignored} and {@code spring.flyway.out-of-order}
+     * to be {@code false}.
+     *
+     * @see CleanFlywaySchemaHistoryCallback#setRetain(int)
+     */
+    private int cleanSchemaHistoryRetain = 0;
+
+    /**
+     * migrate each data source of {@code final.sharding.datasource} concurrently instead of the flyway data source.
+     */
+    private boolean shardMigration = false;
+
+    /**
+     * the max shards migrated at the same time.
+     */
+    private int shardMigrationThreads = 4;
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.logging;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.boot.logging.ExtensionLoggers;
+
+import java.util.Collections;
+import java.util.Map;
+
+import lombok.SneakyThrows;
+
+/**
+ * Add, remove or re-point the extension loggers at runtime.
+ *
+ * <pre class="code">
+ *      GET    /actuator/extloggers
+ *      POST   /actuator/extloggers/com.example.order {"file": "order-debug.log", "level": "DEBUG"}
+ *      DELETE /actuator/extloggers/com.example.order
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see ExtensionLoggers
+ * @since 1.6.0
+ */
+@Endpoint(id = "extloggers")
+public class ExtensionLoggersEndpoint {
+
+    @ReadOperation
+    public Map<String, String> loggers() {
+        final ExtensionLoggers loggers = ExtensionLoggers.getInstance();
+        return loggers == null ? Collections.emptyMap() : loggers.getLoggers();
+    }
+
+    @SneakyThrows
+    @WriteOperation
+    public void configureLogger(@Selector String name, String file, @Nullable String level) {
+        getExtensionLoggers().addLogger(name, file, level);
+    }
+
+    @DeleteOperation
+    public boolean removeLogger(@Selector String name) {
+        return getExtensionLoggers().removeLogger(name);
+    }
+
+    private ExtensionLoggers getExtensionLoggers() {
+        final ExtensionLoggers loggers = ExtensionLoggers.getInstance();
+        if (loggers == null) {
+            throw new IllegalStateException("the extension loggers are not initialized");
+        }
+        return loggers;
+    }
+
+}
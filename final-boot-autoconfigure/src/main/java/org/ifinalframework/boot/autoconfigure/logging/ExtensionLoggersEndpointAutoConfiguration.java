@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.logging;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ExtensionLoggersEndpointAutoConfiguration.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see ExtensionLoggersEndpoint
+ * @since 1.6.0
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(Endpoint.class)
+@ConditionalOnAvailableEndpoint(endpoint = ExtensionLoggersEndpoint.class)
+public class ExtensionLoggersEndpointAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ExtensionLoggersEndpoint extensionLoggersEndpoint() {
+        return new ExtensionLoggersEndpoint();
+    }
+
+}
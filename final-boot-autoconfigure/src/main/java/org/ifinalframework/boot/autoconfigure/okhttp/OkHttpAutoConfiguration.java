@@ -17,6 +17,7 @@ package org.ifinalframework.boot.autoconfigure.okhttp;
 
 import okhttp3.OkHttpClient;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -29,7 +30,7 @@ import java.util.concurrent.TimeUnit;
  * OkHttpAutoConfiguration.
  *
  * @author iimik
- * @version 1.4.0
+ * @version 1.6.0
  * @since 1.4.0
  */
 @Configuration(proxyBeanMethods = false)
@@ -39,13 +40,15 @@ public class OkHttpAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean(OkHttpClient.class)
-    public OkHttpClient okHttpClient(OkHttpProperties properties) {
+    public OkHttpClient okHttpClient(OkHttpProperties properties,
+                                     ObjectProvider<OkHttpClientBuilderCustomizer> customizers) {
         TimeUnit timeUnit = properties.getTimeUnit();
-        return new OkHttpClient.Builder()
+        final OkHttpClient.Builder builder = new OkHttpClient.Builder()
                 .connectTimeout(properties.getConnectTimeout(), timeUnit)
                 .readTimeout(properties.getReadTimeout(), timeUnit)
-                .writeTimeout(properties.getWriteTimeout(), timeUnit)
-                .build();
+                .writeTimeout(properties.getWriteTimeout(), timeUnit);
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder.build();
     }
 
 }
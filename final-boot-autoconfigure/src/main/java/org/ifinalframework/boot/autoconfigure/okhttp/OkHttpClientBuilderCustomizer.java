@@ -0,0 +1,33 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.okhttp;
+
+import okhttp3.OkHttpClient;
+
+/**
+ * Customize the {@link OkHttpClient.Builder} of the auto-configured {@link OkHttpClient}, e.g. adding interceptors.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see OkHttpAutoConfiguration
+ * @since 1.6.0
+ */
+@FunctionalInterface
+public interface OkHttpClientBuilderCustomizer {
+
+    void customize(OkHttpClient.Builder builder);
+
+}
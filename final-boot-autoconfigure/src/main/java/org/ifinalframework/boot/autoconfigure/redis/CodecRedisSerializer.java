@@ -0,0 +1,257 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.redis;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.util.Arrays;
+
+import com.github.luben.zstd.Zstd;
+import net.jpountz.lz4.LZ4Factory;
+
+/**
+ * A {@link RedisSerializer} which writes the values of the JSON {@code delegate} in a configured {@link Codec} and
+ * {@link Compression}, with a header recording them.
+ *
+ * <pre class="code">
+ * magic(0xFC) codec(1 byte) compression(1 byte) [uncompressed length(4 bytes)] payload
+ * </pre>
+ *
+ * <p>An uncompressed {@link Codec#JSON} value is written without the header, as the {@code delegate} does, and a value
+ * without the header is always read by the {@code delegate}. So the readers could be upgraded before the writers
+ * switch the compression in a rolling migration.</p>
+ *
+ * <p>The uncompressed length of the header is checked against {@code maxDecompressedLength} before the buffer is
+ * allocated, so a corrupt value could not allocate a huge array.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see RedisAutoConfiguration
+ * @since 1.6.0
+ */
+public class CodecRedisSerializer<T> implements RedisSerializer<T> {
+
+    /**
+     * never the first byte of an UTF-8 JSON value.
+     */
+    private static final byte MAGIC = (byte) 0xFC;
+
+    private static final int HEADER_LENGTH = 3;
+
+    private static final int LENGTH_LENGTH = 4;
+
+    /**
+     * the default max uncompressed length, the redis string limit is 512 MB.
+     */
+    public static final int DEFAULT_MAX_DECOMPRESSED_LENGTH = 64 * 1024 * 1024;
+
+    private final RedisSerializer<T> delegate;
+
+    private final Codec codec;
+
+    private final Compression compression;
+
+    private final int compressionThreshold;
+
+    private final int maxDecompressedLength;
+
+    public CodecRedisSerializer(RedisSerializer<T> delegate, Codec codec, Compression compression,
+                                int compressionThreshold) {
+        this(delegate, codec, compression, compressionThreshold, DEFAULT_MAX_DECOMPRESSED_LENGTH);
+    }
+
+    public CodecRedisSerializer(RedisSerializer<T> delegate, Codec codec, Compression compression,
+                                int compressionThreshold, int maxDecompressedLength) {
+        this.delegate = delegate;
+        this.codec = codec;
+        this.compression = compression;
+        this.compressionThreshold = compressionThreshold;
+        this.maxDecompressedLength = maxDecompressedLength;
+    }
+
+    @Override
+    public byte[] serialize(@Nullable T value) throws SerializationException {
+        final byte[] json = delegate.serialize(value);
+        if (json == null) {
+            return null;
+        }
+        if (compression == Compression.NONE || json.length < compressionThreshold) {
+            return json;
+        }
+        final byte[] compressed = compression.compress(json);
+        final byte[] bytes = header(codec, compression, compressed, LENGTH_LENGTH, compressed.length);
+        writeInt(bytes, HEADER_LENGTH, json.length);
+        return bytes;
+    }
+
+    @Override
+    public T deserialize(@Nullable byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < HEADER_LENGTH || bytes[0] != MAGIC) {
+            return delegate.deserialize(bytes);
+        }
+        // reject the values of an unknown codec, rather than handing them to the delegate
+        Codec.of(bytes[1]);
+        final Compression valueCompression = Compression.of(bytes[2]);
+        final byte[] payload;
+        if (valueCompression == Compression.NONE) {
+            payload = Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length);
+        } else {
+            final int length = readInt(bytes, HEADER_LENGTH);
+            if (length < 0 || length > maxDecompressedLength) {
+                throw new SerializationException("invalid redis value length: " + length
+                        + ", the max is " + maxDecompressedLength);
+            }
+            payload = valueCompression.decompress(bytes, HEADER_LENGTH + LENGTH_LENGTH, length);
+        }
+        return delegate.deserialize(payload);
+    }
+
+    private static byte[] header(Codec codec, Compression compression, byte[] payload, int gap, int length) {
+        final byte[] bytes = new byte[HEADER_LENGTH + gap + length];
+        bytes[0] = MAGIC;
+        bytes[1] = codec.id;
+        bytes[2] = compression.id;
+        System.arraycopy(payload, 0, bytes, HEADER_LENGTH + gap, length);
+        return bytes;
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) << 24 | (bytes[offset + 1] & 0xFF) << 16
+                | (bytes[offset + 2] & 0xFF) << 8 | bytes[offset + 3] & 0xFF;
+    }
+
+    public enum Codec {
+        /**
+         * the JSON of the delegate.
+         */
+        JSON(1);
+
+        private final byte id;
+
+        Codec(int id) {
+            this.id = (byte) id;
+        }
+
+        static Codec of(byte id) {
+            for (Codec codec : values()) {
+                if (codec.id == id) {
+                    return codec;
+                }
+            }
+            throw new SerializationException("unknown redis value codec: " + id);
+        }
+    }
+
+    public enum Compression {
+        NONE(0) {
+            @Override
+            byte[] compress(byte[] payload) {
+                return payload;
+            }
+
+            @Override
+            byte[] decompress(byte[] bytes, int offset, int length) {
+                return Arrays.copyOfRange(bytes, offset, bytes.length);
+            }
+        },
+        /**
+         * the fast LZ4 block compression, requires {@code org.lz4:lz4-java}.
+         */
+        LZ4(1) {
+            @Override
+            byte[] compress(byte[] payload) {
+                return Lz4.compress(payload);
+            }
+
+            @Override
+            byte[] decompress(byte[] bytes, int offset, int length) {
+                return Lz4.decompress(bytes, offset, length);
+            }
+        },
+        /**
+         * the Zstandard compression, requires {@code com.github.luben:zstd-jni}.
+         */
+        ZSTD(2) {
+            @Override
+            byte[] compress(byte[] payload) {
+                return ZstdHolder.compress(payload);
+            }
+
+            @Override
+            byte[] decompress(byte[] bytes, int offset, int length) {
+                return ZstdHolder.decompress(bytes, offset, length);
+            }
+        };
+
+        private final byte id;
+
+        Compression(int id) {
+            this.id = (byte) id;
+        }
+
+        abstract byte[] compress(byte[] payload);
+
+        abstract byte[] decompress(byte[] bytes, int offset, int length);
+
+        static Compression of(byte id) {
+            for (Compression compression : values()) {
+                if (compression.id == id) {
+                    return compression;
+                }
+            }
+            throw new SerializationException("unknown redis value compression: " + id);
+        }
+    }
+
+    private static final class Lz4 {
+
+        private static final LZ4Factory FACTORY = LZ4Factory.fastestInstance();
+
+        private static byte[] compress(byte[] payload) {
+            return FACTORY.fastCompressor().compress(payload);
+        }
+
+        private static byte[] decompress(byte[] bytes, int offset, int length) {
+            return FACTORY.safeDecompressor().decompress(bytes, offset, bytes.length - offset, length);
+        }
+    }
+
+    private static final class ZstdHolder {
+
+        private static byte[] compress(byte[] payload) {
+            return Zstd.compress(payload);
+        }
+
+        private static byte[] decompress(byte[] bytes, int offset, int length) {
+            final byte[] payload = new byte[length];
+            final long size = Zstd.decompressByteArray(payload, 0, length, bytes, offset, bytes.length - offset);
+            if (Zstd.isError(size)) {
+                throw new SerializationException("decompress redis value error: " + Zstd.getErrorName(size));
+            }
+            return payload;
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.redis;
+
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import io.lettuce.core.protocol.RedisCommand;
+
+/**
+ * The Lettuce command timeout by the command type, such as {@code KEYS} or {@code EVALSHA}.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see FinalRedisProperties.Lettuce#getCommandTimeouts()
+ * @since 1.6.0
+ */
+public class CommandTimeoutSource extends TimeoutOptions.TimeoutSource {
+
+    private final Map<String, Long> timeouts = new HashMap<>();
+
+    private final long defaultTimeout;
+
+    private final Map<ProtocolKeyword, Long> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * @param timeouts       the timeouts by the command type
+     * @param defaultTimeout the timeout of the other commands, {@code null} to use the
+     *                       {@link RedisURI#DEFAULT_TIMEOUT_DURATION default} as the Lettuce client configuration does
+     */
+    public CommandTimeoutSource(Map<String, Duration> timeouts, @Nullable Duration defaultTimeout) {
+        timeouts.forEach((command, timeout) -> this.timeouts.put(command.toUpperCase(Locale.ROOT), timeout.toNanos()));
+        // a value not greater than 0 never times out in Lettuce
+        this.defaultTimeout = (defaultTimeout == null ? RedisURI.DEFAULT_TIMEOUT_DURATION : defaultTimeout).toNanos();
+    }
+
+    @Override
+    public long getTimeout(RedisCommand<?, ?, ?> command) {
+        return resolved.computeIfAbsent(command.getType(),
+                type -> timeouts.getOrDefault(new String(type.getBytes(), StandardCharsets.US_ASCII), defaultTimeout));
+    }
+
+    @Override
+    public TimeUnit getTimeUnit() {
+        return TimeUnit.NANOSECONDS;
+    }
+
+}
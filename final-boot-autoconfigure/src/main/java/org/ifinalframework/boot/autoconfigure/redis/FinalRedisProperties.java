@@ -0,0 +1,180 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.redis;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * FinalRedisProperties.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see org.springframework.boot.autoconfigure.data.redis.RedisProperties
+ * @since 1.6.0
+ */
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "final.redis")
+public class FinalRedisProperties {
+
+    private NearCache nearCache = new NearCache();
+
+    private Batch batch = new Batch();
+
+    private ValueCodec codec = new ValueCodec();
+
+    private Lettuce lettuce = new Lettuce();
+
+    private RateLimiter rateLimiter = new RateLimiter();
+
+    private Lock lock = new Lock();
+
+    @Setter
+    @Getter
+    public static class NearCache {
+
+        private boolean enabled = false;
+
+        /**
+         * the maximum size of the local cache.
+         */
+        private long maximumSize = 10000;
+
+        /**
+         * the local value expires after this duration since written, {@code null} never expires.
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+        /**
+         * the pub/sub channel of the invalidated keys.
+         */
+        private String channel = "final:near-cache:invalidation";
+    }
+
+    @Setter
+    @Getter
+    public static class Batch {
+
+        private boolean enabled = false;
+
+        /**
+         * the calls within this window since the first pending call are sent in one batch.
+         */
+        private Duration window = Duration.ofMillis(2);
+
+        /**
+         * the max calls of one batch, a full batch is sent immediately.
+         */
+        private int maxSize = 128;
+    }
+
+    /**
+     * @see CodecRedisSerializer
+     */
+    @Setter
+    @Getter
+    public static class ValueCodec {
+
+        private boolean enabled = false;
+
+        private CodecRedisSerializer.Codec type = CodecRedisSerializer.Codec.JSON;
+
+        private CodecRedisSerializer.Compression compression = CodecRedisSerializer.Compression.NONE;
+
+        /**
+         * the encoded values not smaller than this are compressed.
+         */
+        private DataSize compressionThreshold = DataSize.ofKilobytes(1);
+
+        /**
+         * the max uncompressed size of a read value, a larger one is rejected before its buffer is allocated.
+         */
+        private DataSize maxDecompressedSize = DataSize.ofBytes(CodecRedisSerializer.DEFAULT_MAX_DECOMPRESSED_LENGTH);
+    }
+
+    /**
+     * the Lettuce tuning, the pool is configured by {@code spring.data.redis.lettuce.pool}.
+     */
+    @Setter
+    @Getter
+    public static class Lettuce {
+
+        /**
+         * share one native connection for all the non-blocking commands, {@code false} to borrow a pooled connection
+         * for each call, {@code null} keeps the default.
+         */
+        private Boolean shareNativeConnection;
+
+        /**
+         * the I/O thread pool size, {@code null} for the number of processors.
+         */
+        private Integer ioThreads;
+
+        /**
+         * the computation thread pool size, {@code null} for the number of processors.
+         */
+        private Integer computationThreads;
+
+        /**
+         * the command timeouts by the command type, e.g. {@code KEYS: 5s}, the other commands use
+         * {@code spring.data.redis.timeout}, or the Lettuce default of 60s when it is not set.
+         */
+        private Map<String, Duration> commandTimeouts = new LinkedHashMap<>();
+
+        /**
+         * flush the pipelined commands every this number of commands, {@code null} flushes each command.
+         */
+        private Integer pipeliningFlushSize;
+    }
+
+    /**
+     * @see RedisSlidingWindowRateLimiter
+     */
+    @Setter
+    @Getter
+    public static class RateLimiter {
+
+        private boolean enabled = false;
+
+        private String prefix = "final:rate-limiter:";
+    }
+
+    /**
+     * @see RedisReentrantLock
+     */
+    @Setter
+    @Getter
+    public static class Lock {
+
+        private boolean enabled = false;
+
+        private String prefix = "final:lock:";
+
+        /**
+         * the default lease of the locks.
+         */
+        private Duration lease = Duration.ofSeconds(30);
+    }
+
+}
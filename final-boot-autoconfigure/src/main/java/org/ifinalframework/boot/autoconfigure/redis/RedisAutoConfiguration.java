@@ -15,15 +15,40 @@
 
 package org.ifinalframework.boot.autoconfigure.redis;
 
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.ClientResourcesBuilderCustomizer;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.Nullable;
 
 import org.ifinalframework.data.redis.ObjectStringJsonRedisTemplate;
 import org.ifinalframework.data.redis.RedisRegistry;
 
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.commonspool2.CommonsObjectPool2Metrics;
+
 /**
  * @author iimik
  * @version 1.0.0
@@ -32,20 +57,199 @@ import org.ifinalframework.data.redis.RedisRegistry;
  */
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnClass(ObjectStringJsonRedisTemplate.class)
+@EnableConfigurationProperties(FinalRedisProperties.class)
 public class RedisAutoConfiguration {
 
     /**
      * instance {@link  ObjectStringJsonRedisTemplate}.
      *
      * @param redisConnectionFactory redis connection factory
+     * @param properties             redis properties
      * @return instance
      */
     @Bean
     @ConditionalOnMissingBean
-    public ObjectStringJsonRedisTemplate objectStringJsonRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+    public ObjectStringJsonRedisTemplate objectStringJsonRedisTemplate(RedisConnectionFactory redisConnectionFactory,
+                                                                       FinalRedisProperties properties) {
         ObjectStringJsonRedisTemplate template = new ObjectStringJsonRedisTemplate(redisConnectionFactory);
+        final FinalRedisProperties.ValueCodec codec = properties.getCodec();
+        if (codec.isEnabled()) {
+            template.setValueSerializer(new CodecRedisSerializer<>(template.getValueSerializer(), codec.getType(),
+                    codec.getCompression(), (int) codec.getCompressionThreshold().toBytes(),
+                    (int) Math.min(Integer.MAX_VALUE, codec.getMaxDecompressedSize().toBytes())));
+        }
         RedisRegistry.getInstance().setRedisTemplate(template);
         return template;
     }
 
+    /**
+     * the batch operations of {@link ObjectStringJsonRedisTemplate}.
+     *
+     * @param template   the redis template
+     * @param properties the redis properties
+     * @return batch operations
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "final.redis.batch", name = "enabled", havingValue = "true")
+    public RedisBatchOperations<?, ?> redisBatchOperations(ObjectStringJsonRedisTemplate template,
+                                                           FinalRedisProperties properties) {
+        final FinalRedisProperties.Batch batch = properties.getBatch();
+        return new RedisBatchOperations<>(template, batch.getWindow(), batch.getMaxSize());
+    }
+
+    /**
+     * the sliding window rate limiter on {@link ObjectStringJsonRedisTemplate}.
+     *
+     * @param template   the redis template
+     * @param properties the redis properties
+     * @return rate limiter
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "final.redis.rate-limiter", name = "enabled", havingValue = "true")
+    public RedisSlidingWindowRateLimiter redisSlidingWindowRateLimiter(ObjectStringJsonRedisTemplate template,
+                                                                       FinalRedisProperties properties) {
+        return new RedisSlidingWindowRateLimiter(template, properties.getRateLimiter().getPrefix());
+    }
+
+    /**
+     * the reentrant lease lock on {@link ObjectStringJsonRedisTemplate}.
+     *
+     * @param template   the redis template
+     * @param properties the redis properties
+     * @return lock
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "final.redis.lock", name = "enabled", havingValue = "true")
+    public RedisReentrantLock redisReentrantLock(ObjectStringJsonRedisTemplate template, FinalRedisProperties properties) {
+        final FinalRedisProperties.Lock lock = properties.getLock();
+        return new RedisReentrantLock(template, lock.getPrefix(), lock.getLease());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Caffeine.class)
+    @ConditionalOnProperty(prefix = "final.redis.near-cache", name = "enabled", havingValue = "true")
+    static class NearCacheConfiguration {
+
+        /**
+         * the near cache in front of {@link ObjectStringJsonRedisTemplate}.
+         *
+         * @param template   the redis template
+         * @param properties the redis properties
+         * @return near cache
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public RedisNearCache<?, ?> redisNearCache(ObjectStringJsonRedisTemplate template, FinalRedisProperties properties) {
+            return RedisNearCache.of(template, properties.getNearCache());
+        }
+
+        @Bean
+        public RedisMessageListenerContainer redisNearCacheListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                             RedisNearCache<?, ?> redisNearCache) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(redisConnectionFactory);
+            container.addMessageListener(redisNearCache, new ChannelTopic(redisNearCache.getChannel()));
+            return container;
+        }
+
+        @Configuration(proxyBeanMethods = false)
+        @ConditionalOnClass(MeterRegistry.class)
+        static class NearCacheMetricsConfiguration {
+
+            @Bean
+            public MeterBinder redisNearCacheMetrics(RedisNearCache<?, ?> redisNearCache) {
+                return registry -> CaffeineCacheMetrics.monitor(registry, redisNearCache.getCache(), "redis-near-cache");
+            }
+        }
+    }
+
+    /**
+     * tune the Lettuce connection factory by {@link FinalRedisProperties.Lettuce}.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({RedisClient.class, LettuceConnectionFactory.class})
+    static class LettuceConfiguration {
+
+        @Bean
+        public ClientResourcesBuilderCustomizer finalClientResourcesBuilderCustomizer(FinalRedisProperties properties) {
+            final FinalRedisProperties.Lettuce lettuce = properties.getLettuce();
+            return builder -> {
+                if (lettuce.getIoThreads() != null) {
+                    builder.ioThreadPoolSize(lettuce.getIoThreads());
+                }
+                if (lettuce.getComputationThreads() != null) {
+                    builder.computationThreadPoolSize(lettuce.getComputationThreads());
+                }
+            };
+        }
+
+        @Bean
+        public LettuceClientConfigurationBuilderCustomizer finalLettuceClientConfigurationBuilderCustomizer(
+                FinalRedisProperties properties, ObjectProvider<RedisProperties> redisProperties) {
+            final FinalRedisProperties.Lettuce lettuce = properties.getLettuce();
+            return builder -> {
+                if (!lettuce.getCommandTimeouts().isEmpty()) {
+                    // keep the options of Spring Boot, e.g. the ssl options and the cluster topology refresh
+                    final ClientOptions options = builder.build().getClientOptions().orElseGet(ClientOptions::create);
+                    builder.clientOptions(withCommandTimeouts(options, lettuce,
+                            redisProperties.getIfAvailable(RedisProperties::new).getTimeout()));
+                }
+            };
+        }
+
+        /**
+         * replace the timeout options of the client options with the command timeouts.
+         */
+        static ClientOptions withCommandTimeouts(ClientOptions options, FinalRedisProperties.Lettuce lettuce,
+                                                 @Nullable Duration timeout) {
+            final TimeoutOptions timeoutOptions = TimeoutOptions.builder()
+                    .timeoutSource(new CommandTimeoutSource(lettuce.getCommandTimeouts(), timeout))
+                    .build();
+            if (options instanceof ClusterClientOptions) {
+                return ((ClusterClientOptions) options).mutate().timeoutOptions(timeoutOptions).build();
+            }
+            return options.mutate().timeoutOptions(timeoutOptions).build();
+        }
+
+        @Bean
+        public static BeanPostProcessor finalLettuceConnectionFactoryPostProcessor(
+                ObjectProvider<FinalRedisProperties> properties) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                    if (bean instanceof LettuceConnectionFactory) {
+                        final LettuceConnectionFactory factory = (LettuceConnectionFactory) bean;
+                        final FinalRedisProperties.Lettuce lettuce = properties.getObject().getLettuce();
+                        if (lettuce.getShareNativeConnection() != null) {
+                            factory.setShareNativeConnection(lettuce.getShareNativeConnection());
+                        }
+                        if (lettuce.getPipeliningFlushSize() != null) {
+                            factory.setPipeliningFlushPolicy(
+                                    LettuceConnection.PipeliningFlushPolicy.buffered(lettuce.getPipeliningFlushSize()));
+                        }
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        /**
+         * the active, idle and waiting counts and the borrow wait time of the commons pool2 pools, which show the pool
+         * saturation of {@code spring.data.redis.lettuce.pool}.
+         */
+        @Configuration(proxyBeanMethods = false)
+        @ConditionalOnClass(value = MeterRegistry.class, name = "org.apache.commons.pool2.impl.GenericObjectPool")
+        static class LettucePoolMetricsConfiguration {
+
+            @Bean
+            @ConditionalOnMissingBean
+            public CommonsObjectPool2Metrics commonsObjectPool2Metrics() {
+                return new CommonsObjectPool2Metrics();
+            }
+        }
+    }
+
 }
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.redis;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.lang.NonNull;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Coalesce the single {@code GET} and {@code SET} calls made within a short window into one round trip.
+ *
+ * <p>A batch of only {@code GET}s is sent as one {@code MGET}, a mixed batch is pipelined in the submitted order.
+ * A batch is flushed when the {@code window} since its first call elapsed, or when it has {@code maxSize} calls.
+ * The batches are flushed by one thread, so the calls of a caller are executed in order.</p>
+ *
+ * <pre class="code">
+ *      CompletableFuture&lt;String&gt; value = batchOperations.get("key");
+ *      batchOperations.set("key", "value").join();
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see RedisAutoConfiguration
+ * @since 1.6.0
+ */
+public class RedisBatchOperations<K, V> implements Closeable {
+
+    private final RedisOperations<K, V> operations;
+
+    private final long window;
+
+    private final int maxSize;
+
+    private final Queue<Command<K, V>> commands = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private boolean closed;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "redis-batch-operations");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RedisBatchOperations(RedisOperations<K, V> operations, Duration window, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("the max size must be positive, but " + maxSize);
+        }
+        this.operations = operations;
+        this.window = window.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    public CompletableFuture<V> get(K key) {
+        return submit(new Command<>(key, null, false));
+    }
+
+    public CompletableFuture<Void> set(K key, V value) {
+        return submit(new Command<K, V>(key, value, true)).thenApply(it -> null);
+    }
+
+    /**
+     * flush the pending calls and stop the flush thread, the calls submitted after closed are rejected.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            executor.execute(this::flush);
+            executor.shutdown();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private CompletableFuture<V> submit(Command<K, V> command) {
+        // the read lock lets the callers submit concurrently, and keeps close() out until the command is queued
+        // with its flush, so no command is left behind the final flush.
+        lock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("the batch operations are closed");
+            }
+            commands.add(command);
+            if (pending.incrementAndGet() >= maxSize) {
+                executor.execute(this::flush);
+            } else if (scheduled.compareAndSet(false, true)) {
+                executor.schedule(this::flush, window, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return command.future;
+    }
+
+    private void flush() {
+        scheduled.set(false);
+        while (true) {
+            final List<Command<K, V>> batch = new ArrayList<>(Math.min(maxSize, pending.get()));
+            Command<K, V> command;
+            while (batch.size() < maxSize && (command = commands.poll()) != null) {
+                batch.add(command);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            pending.addAndGet(-batch.size());
+            execute(batch);
+        }
+    }
+
+    private void execute(List<Command<K, V>> batch) {
+        try {
+            final List<?> results = batch.stream().anyMatch(it -> it.write) ? pipeline(batch) : multiGet(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(it -> it.future.completeExceptionally(e));
+        }
+    }
+
+    private List<V> multiGet(List<Command<K, V>> batch) {
+        final List<K> keys = new ArrayList<>(batch.size());
+        batch.forEach(it -> keys.add(it.key));
+        final List<V> values = operations.opsForValue().multiGet(keys);
+        if (values == null) {
+            throw new IllegalStateException("multiGet returned null, in a pipeline or transaction?");
+        }
+        return values;
+    }
+
+    private List<Object> pipeline(List<Command<K, V>> batch) {
+        return operations.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <S, T> Object execute(@NonNull RedisOperations<S, T> session) throws DataAccessException {
+                final RedisOperations<K, V> redis = (RedisOperations<K, V>) session;
+                for (Command<K, V> command : batch) {
+                    if (command.write) {
+                        redis.opsForValue().set(command.key, command.value);
+                    } else {
+                        redis.opsForValue().get(command.key);
+                    }
+                }
+                return null;
+            }
+        });
+    }
+
+    private static final class Command<K, V> {
+
+        private final K key;
+
+        private final V value;
+
+        private final boolean write;
+
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+
+        private Command(K key, V value, boolean write) {
+            this.key = key;
+            this.value = value;
+            this.write = write;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(Object result) {
+            future.complete(write ? null : (V) result);
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.redis;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A Lua script executed by {@code EVALSHA} in one round trip, it falls back to {@code EVAL} when the server does not
+ * have the script, e.g. on the first call, after a restart or a failover. The {@code EVAL} caches the script on the
+ * server, so nothing is sent to Redis before the script is used.
+ *
+ * <p>The keys and arguments are written as UTF-8 strings, not by the serializers of the {@link RedisOperations}.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class RedisLuaScript {
+
+    private final byte[] script;
+
+    private final String sha1;
+
+    private final ReturnType returnType;
+
+    public RedisLuaScript(String script, ReturnType returnType) {
+        this.script = script.getBytes(StandardCharsets.UTF_8);
+        this.sha1 = sha1(this.script);
+        this.returnType = returnType;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(RedisOperations<?, ?> operations, String[] keys, Object... args) {
+        final byte[][] keysAndArgs = new byte[keys.length + args.length][];
+        for (int i = 0; i < keys.length; i++) {
+            keysAndArgs[i] = keys[i].getBytes(StandardCharsets.UTF_8);
+        }
+        for (int i = 0; i < args.length; i++) {
+            keysAndArgs[keys.length + i] = String.valueOf(args[i]).getBytes(StandardCharsets.UTF_8);
+        }
+        return (T) operations.execute((RedisCallback<Object>) connection -> {
+            final RedisScriptingCommands commands = connection.scriptingCommands();
+            try {
+                return commands.evalSha(sha1, returnType, keys.length, keysAndArgs);
+            } catch (DataAccessException e) {
+                if (!isNoScript(e)) {
+                    throw e;
+                }
+                return commands.eval(script, returnType, keys.length, keysAndArgs);
+            }
+        });
+    }
+
+    public String getSha1() {
+        return sha1;
+    }
+
+    private static boolean isNoScript(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String sha1(byte[] bytes) {
+        try {
+            final StringBuilder builder = new StringBuilder(40);
+            for (byte b : MessageDigest.getInstance("SHA-1").digest(bytes)) {
+                builder.append(Character.forDigit(b >> 4 & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
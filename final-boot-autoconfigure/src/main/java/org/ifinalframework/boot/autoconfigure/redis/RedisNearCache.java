@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.redis;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * A local {@link Cache} in front of the values of a {@link RedisOperations}.
+ *
+ * <p>The local tier is a size and TTL bounded Caffeine cache (W-TinyLFU eviction), keyed by the serialized key
+ * bytes, as Redis is. A write or delete goes to Redis first, then invalidates the local value and publishes the
+ * serialized key to {@link #getChannel()}, so the near caches of the other instances invalidate it too. The published
+ * bytes are the local key, so an invalidation never depends on a key deserializing to an equal object.</p>
+ *
+ * <p>A miss is loaded by {@link Cache#get(Object, java.util.function.Function)}, an invalidation of the key waits for
+ * the loading, so a value loaded before a write is never cached after its invalidation.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see RedisAutoConfiguration
+ * @since 1.6.0
+ */
+public class RedisNearCache<K, V> implements MessageListener {
+
+    private final RedisOperations<K, V> operations;
+
+    private final String channel;
+
+    private final byte[] rawChannel;
+
+    private final Cache<ByteBuffer, V> cache;
+
+    public RedisNearCache(RedisOperations<K, V> operations, String channel, Cache<ByteBuffer, V> cache) {
+        this.operations = operations;
+        this.channel = channel;
+        this.rawChannel = channel.getBytes(StandardCharsets.UTF_8);
+        this.cache = cache;
+    }
+
+    /**
+     * create a near cache with a {@link Caffeine} cache recording the stats.
+     *
+     * @param operations the redis operations
+     * @param properties the near cache properties
+     * @param <K>        key type
+     * @param <V>        value type
+     * @return the near cache
+     */
+    public static <K, V> RedisNearCache<K, V> of(RedisOperations<K, V> operations,
+                                                 FinalRedisProperties.NearCache properties) {
+        final Caffeine<Object, Object> caffeine = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .recordStats();
+        if (properties.getExpireAfterWrite() != null) {
+            caffeine.expireAfterWrite(properties.getExpireAfterWrite());
+        }
+        return new RedisNearCache<>(operations, properties.getChannel(), caffeine.build());
+    }
+
+    @Nullable
+    public V get(K key) {
+        return cache.get(rawKey(key), rawKey -> operations.opsForValue().get(key));
+    }
+
+    public void set(K key, V value) {
+        operations.opsForValue().set(key, value);
+        invalidate(key);
+    }
+
+    public void set(K key, V value, Duration timeout) {
+        operations.opsForValue().set(key, value, timeout);
+        invalidate(key);
+    }
+
+    public boolean delete(K key) {
+        final Boolean deleted = operations.delete(key);
+        invalidate(key);
+        return Boolean.TRUE.equals(deleted);
+    }
+
+    /**
+     * invalidate the key of the local caches of all instances.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        final ByteBuffer rawKey = rawKey(key);
+        cache.invalidate(rawKey);
+        operations.execute((RedisCallback<Long>) connection -> connection.publish(rawChannel, rawKey.array()));
+    }
+
+    @Override
+    public void onMessage(Message message, @Nullable byte[] pattern) {
+        cache.invalidate(ByteBuffer.wrap(message.getBody()));
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public Cache<ByteBuffer, V> getCache() {
+        return cache;
+    }
+
+    /**
+     * the hit, miss and eviction stats of the local tier.
+     *
+     * @return cache stats
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ByteBuffer rawKey(K key) {
+        final byte[] rawKey = ((RedisSerializer<K>) operations.getKeySerializer()).serialize(key);
+        if (rawKey == null) {
+            throw new IllegalArgumentException("the near cache key is serialized to null: " + key);
+        }
+        return ByteBuffer.wrap(rawKey);
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.redis;
+
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisOperations;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A reentrant lease lock on a Redis hash, whose field is the owner thread and value is the hold count.
+ *
+ * <p>The lock expires after the lease unless it is released or acquired again by the owner, so a crashed owner never
+ * holds it forever.</p>
+ *
+ * <pre class="code">
+ *      if (lock.tryLock("order:" + id, Duration.ofSeconds(10), Duration.ofSeconds(30))) {
+ *          try {
+ *              // ...
+ *          } finally {
+ *              lock.unlock("order:" + id);
+ *          }
+ *      }
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see RedisLuaScript
+ * @since 1.6.0
+ */
+public class RedisReentrantLock {
+
+    private static final RedisLuaScript LOCK_SCRIPT = new RedisLuaScript(""
+            + "if redis.call('EXISTS', KEYS[1]) == 0 or redis.call('HEXISTS', KEYS[1], ARGV[1]) == 1 then\n"
+            + "    redis.call('HINCRBY', KEYS[1], ARGV[1], 1)\n"
+            + "    redis.call('PEXPIRE', KEYS[1], ARGV[2])\n"
+            + "    return 1\n"
+            + "end\n"
+            + "return 0\n", ReturnType.INTEGER);
+
+    private static final RedisLuaScript UNLOCK_SCRIPT = new RedisLuaScript(""
+            + "if redis.call('HEXISTS', KEYS[1], ARGV[1]) == 0 then\n"
+            + "    return -1\n"
+            + "end\n"
+            + "if redis.call('HINCRBY', KEYS[1], ARGV[1], -1) > 0 then\n"
+            + "    return 0\n"
+            + "end\n"
+            + "redis.call('DEL', KEYS[1])\n"
+            + "return 1\n", ReturnType.INTEGER);
+
+    private static final long MAX_RETRY_INTERVAL = 100;
+
+    /**
+     * identify the threads of this instance from the others.
+     */
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final RedisOperations<?, ?> operations;
+
+    private final String prefix;
+
+    private final Duration defaultLease;
+
+    public RedisReentrantLock(RedisOperations<?, ?> operations, String prefix, Duration defaultLease) {
+        this.operations = operations;
+        this.prefix = prefix;
+        this.defaultLease = defaultLease;
+    }
+
+    /**
+     * try to acquire the lock once with the default lease.
+     *
+     * @param name lock name
+     * @return {@code true} if acquired
+     */
+    public boolean tryLock(String name) {
+        return tryLock(name, defaultLease);
+    }
+
+    /**
+     * try to acquire the lock once.
+     *
+     * @param name  lock name
+     * @param lease the lock expires after the lease
+     * @return {@code true} if acquired
+     */
+    public boolean tryLock(String name, Duration lease) {
+        final Long acquired = LOCK_SCRIPT.execute(operations, new String[]{prefix + name}, owner(), lease.toMillis());
+        return acquired != null && acquired == 1L;
+    }
+
+    /**
+     * try to acquire the lock until the wait time elapsed.
+     *
+     * @param name  lock name
+     * @param wait  the max wait time
+     * @param lease the lock expires after the lease
+     * @return {@code true} if acquired
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean tryLock(String name, Duration wait, Duration lease) throws InterruptedException {
+        final long deadline = System.nanoTime() + wait.toNanos();
+        long interval = 1;
+        while (!tryLock(name, lease)) {
+            final long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                return false;
+            }
+            // a random backoff avoids the waiters retrying together
+            TimeUnit.MILLISECONDS.sleep(Math.min(remaining, ThreadLocalRandom.current().nextLong(interval, interval * 2 + 1)));
+            interval = Math.min(interval * 2, MAX_RETRY_INTERVAL);
+        }
+        return true;
+    }
+
+    /**
+     * release the lock once, it is unlocked when released as many times as acquired.
+     *
+     * @param name lock name
+     * @throws IllegalMonitorStateException if the current thread does not hold the lock
+     */
+    public void unlock(String name) {
+        final Long released = UNLOCK_SCRIPT.execute(operations, new String[]{prefix + name}, owner());
+        if (released == null || released == -1L) {
+            throw new IllegalMonitorStateException("the lock " + name + " is not held by the current thread");
+        }
+    }
+
+    private String owner() {
+        return instanceId + ":" + Thread.currentThread().getId();
+    }
+
+}
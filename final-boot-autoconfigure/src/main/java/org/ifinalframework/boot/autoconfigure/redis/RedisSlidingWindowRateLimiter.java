@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.redis;
+
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisOperations;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * A sliding window rate limiter on a Redis sorted set, the permits acquired in the last {@code window} are its members
+ * scored by the Redis server {@code TIME}, so the clocks of the clients do not matter.
+ *
+ * <pre class="code">
+ *      if (!rateLimiter.tryAcquire("sms:" + phone, 5, Duration.ofMinutes(1))) {
+ *          throw new TooManyRequestsException();
+ *      }
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see RedisLuaScript
+ * @since 1.6.0
+ */
+public class RedisSlidingWindowRateLimiter {
+
+    private static final RedisLuaScript SCRIPT = new RedisLuaScript(""
+            + "redis.replicate_commands()\n"
+            + "local time = redis.call('TIME')\n"
+            + "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)\n"
+            + "local window = tonumber(ARGV[1])\n"
+            + "local permits = tonumber(ARGV[3])\n"
+            + "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)\n"
+            + "if redis.call('ZCARD', KEYS[1]) + permits > tonumber(ARGV[2]) then\n"
+            + "    return 0\n"
+            + "end\n"
+            + "for i = 1, permits do\n"
+            + "    redis.call('ZADD', KEYS[1], now, ARGV[4] .. ':' .. i)\n"
+            + "end\n"
+            + "redis.call('PEXPIRE', KEYS[1], window)\n"
+            + "return 1\n", ReturnType.INTEGER);
+
+    private final RedisOperations<?, ?> operations;
+
+    private final String prefix;
+
+    public RedisSlidingWindowRateLimiter(RedisOperations<?, ?> operations, String prefix) {
+        this.operations = operations;
+        this.prefix = prefix;
+    }
+
+    /**
+     * try to acquire a permit.
+     *
+     * @param key    the limited key
+     * @param limit  the max permits in the window
+     * @param window the sliding window
+     * @return {@code true} if acquired
+     * @see #tryAcquire(String, int, long, Duration)
+     */
+    public boolean tryAcquire(String key, long limit, Duration window) {
+        return tryAcquire(key, 1, limit, window);
+    }
+
+    /**
+     * try to acquire the permits, none is acquired if there are not enough permits.
+     *
+     * @param key     the limited key
+     * @param permits the permits to acquire
+     * @param limit   the max permits in the window
+     * @param window  the sliding window
+     * @return {@code true} if acquired
+     */
+    public boolean tryAcquire(String key, int permits, long limit, Duration window) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("the permits must be positive, but " + permits);
+        }
+        final Long acquired = SCRIPT.execute(operations, new String[]{prefix + key},
+                window.toMillis(), limit, permits, UUID.randomUUID());
+        return acquired != null && acquired == 1L;
+    }
+
+}
@@ -34,11 +34,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.util.StringUtils;
-import org.springframework.web.cors.CorsConfiguration;
-import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.cors.CorsConfigurationSource;
 
 import org.ifinalframework.boot.autoconfigure.web.cors.CorsProperties;
+import org.ifinalframework.boot.autoconfigure.web.cors.CorsWebMvcConfigurerAutoConfiguration;
 import org.ifinalframework.security.config.HttpSecurityConfigurer;
 import org.ifinalframework.security.web.authentication.ResultAuthenticationHandler;
 import org.ifinalframework.security.web.authentication.www.BearerAuthenticationFilter;
@@ -46,7 +45,6 @@ import org.ifinalframework.security.web.authentication.www.RemoteAuthenticationF
 import org.ifinalframework.security.web.authentication.www.RemoteAuthenticationService;
 import org.ifinalframework.util.Proxies;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -63,7 +61,7 @@ import lombok.extern.slf4j.Slf4j;
  * </pre>
  *
  * @author iimik
- * @version 1.5.0
+ * @version 1.6.0
  * @see org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration
  * @see org.springframework.security.web.authentication.www.BasicAuthenticationFilter
  * @see org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationFilter
@@ -99,34 +97,11 @@ public class FinalSecurityAutoConfiguration {
 
     @Bean
     public SecurityFilterChain corsSecurityFilterChain(ApplicationContext applicationContext, HttpSecurity http,
-                                                       CorsProperties corsProperties,
                                                        SecurityProperties securityProperties) throws Exception {
-        CorsConfiguration corsConfiguration = new CorsConfiguration();
-        if (Objects.nonNull(corsProperties.getAllowedHeaders()) && corsProperties.getAllowedHeaders().length > 0) {
-            corsConfiguration.setAllowedHeaders(Arrays.asList(corsProperties.getAllowedHeaders()));
-        }
-        if (Objects.nonNull(corsProperties.getAllowedMethods()) && corsProperties.getAllowedMethods().length > 0) {
-            corsConfiguration.setAllowedMethods(Arrays.asList(corsProperties.getAllowedMethods()));
-        }
-        if (Objects.nonNull(corsProperties.getAllowedOrigins()) && corsProperties.getAllowedOrigins().length > 0) {
-            corsConfiguration.setAllowedOrigins(Arrays.asList(corsProperties.getAllowedOrigins()));
-        }
-        if (Objects.nonNull(corsProperties.getAllowedOriginPatterns()) && corsProperties.getAllowedOriginPatterns().length > 0) {
-            corsConfiguration.setAllowedOriginPatterns(Arrays.asList(corsProperties.getAllowedOriginPatterns()));
-        }
-
-
-        if (Objects.nonNull(corsProperties.getAllowCredentials())) {
-            corsConfiguration.setAllowCredentials(corsProperties.getAllowCredentials());
-        }
-        if (Objects.nonNull(corsProperties.getMaxAge())) {
-            corsConfiguration.setMaxAge(corsProperties.getMaxAge());
-        }
-
-        if (StringUtils.hasLength(corsProperties.getMapping())) {
-            UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-            source.registerCorsConfiguration(corsProperties.getMapping(), corsConfiguration);
-            http.cors().configurationSource(source);
+        // share the cors configuration source of the mvc
+        if (applicationContext.containsBean(CorsWebMvcConfigurerAutoConfiguration.CORS_CONFIGURATION_SOURCE)) {
+            http.cors().configurationSource(applicationContext.getBean(
+                    CorsWebMvcConfigurerAutoConfiguration.CORS_CONFIGURATION_SOURCE, CorsConfigurationSource.class));
         }
 
 
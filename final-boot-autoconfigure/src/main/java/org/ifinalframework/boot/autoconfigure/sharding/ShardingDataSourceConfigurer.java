@@ -34,13 +34,14 @@ import org.apache.shardingsphere.driver.api.ShardingSphereDataSourceFactory;
 import javax.sql.DataSource;
 
 import java.sql.SQLException;
-import java.util.Map;
+import java.util.Collections;
+import java.util.Set;
 
 import lombok.Setter;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 @Configuration(proxyBeanMethods = false)
@@ -71,15 +72,37 @@ public class ShardingDataSourceConfigurer implements ShardingConfigurer, Environ
         if (CollectionUtils.isEmpty(properties.getDatasource())) {
             registry.addDataSource(DEFAULT_DATASOURCE_NAME, create(dataSourceProperties, "spring.datasource"));
         } else {
-            for (Map.Entry<String, DataSourceProperties> entry : properties.getDatasource().entrySet()) {
-                final String prefix = ShardingDataSourceProperties.DEFAULT_DATASOURCE_PREFIX + ".datasource." + entry.getKey();
-                final DataSource dataSource = create(entry.getValue(), prefix);
-                registry.addDataSource(entry.getKey(), dataSource);
+            for (String name : properties.getDatasource().keySet()) {
+                registry.addDataSource(name, createDataSource(name));
             }
         }
 
     }
 
+    /**
+     * @return the names of {@code final.sharding.datasource}
+     */
+    public Set<String> getDataSourceNames() {
+        return CollectionUtils.isEmpty(properties.getDatasource())
+                ? Collections.emptySet() : Collections.unmodifiableSet(properties.getDatasource().keySet());
+    }
+
+    /**
+     * create a new data source of {@code final.sharding.datasource.<name>}.
+     *
+     * @param name data source name
+     * @return a new data source, which should be closed by the caller
+     * @throws SQLException if the data source could not be created
+     */
+    public DataSource createDataSource(String name) throws SQLException {
+        final DataSourceProperties dataSource = CollectionUtils.isEmpty(properties.getDatasource())
+                ? null : properties.getDatasource().get(name);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("not found sharding datasource of " + name);
+        }
+        return create(dataSource, ShardingDataSourceProperties.DEFAULT_DATASOURCE_PREFIX + ".datasource." + name);
+    }
+
     private DataSource create(DataSourceProperties properties, String prefix) throws SQLException {
         final DataSourceFactory<? extends DataSource> dataSourceFactory
                 = dataSourceFactoryManager.getDataSourceFactory(properties.getType());
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.cors;
+
+import org.springframework.lang.Nullable;
+import org.springframework.web.cors.CorsConfiguration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link CorsConfiguration} which caches the {@link #checkOrigin(String) origin decisions}, so the
+ * {@code allowedOriginPatterns} are matched once per origin instead of once per request.
+ *
+ * <p>The cache is cleared when it is full or the origins are changed.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class CachingCorsConfiguration extends CorsConfiguration {
+
+    /**
+     * the cached decision of a rejected origin.
+     */
+    private static final String REJECTED = new String();
+
+    private final Map<String, String> origins = new ConcurrentHashMap<>();
+
+    private final int cacheSize;
+
+    /**
+     * @param cacheSize the max cached origins, {@code 0} to disable the cache
+     */
+    public CachingCorsConfiguration(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    @Nullable
+    @Override
+    public String checkOrigin(@Nullable String origin) {
+        if (origin == null || cacheSize <= 0) {
+            return super.checkOrigin(origin);
+        }
+
+        String decision = origins.get(origin);
+        if (decision == null) {
+            decision = super.checkOrigin(origin);
+            if (decision == null) {
+                decision = REJECTED;
+            }
+            if (origins.size() >= cacheSize) {
+                origins.clear();
+            }
+            origins.put(origin, decision);
+        }
+        return decision == REJECTED ? null : decision;
+    }
+
+    @Override
+    public void setAllowedOrigins(@Nullable List<String> allowedOrigins) {
+        super.setAllowedOrigins(allowedOrigins);
+        origins.clear();
+    }
+
+    @Override
+    public void addAllowedOrigin(@Nullable String origin) {
+        super.addAllowedOrigin(origin);
+        origins.clear();
+    }
+
+    @Override
+    public CorsConfiguration setAllowedOriginPatterns(@Nullable List<String> allowedOriginPatterns) {
+        super.setAllowedOriginPatterns(allowedOriginPatterns);
+        origins.clear();
+        return this;
+    }
+
+    @Override
+    public void addAllowedOriginPattern(@Nullable String originPattern) {
+        super.addAllowedOriginPattern(originPattern);
+        origins.clear();
+    }
+
+    @Override
+    public void setAllowCredentials(@Nullable Boolean allowCredentials) {
+        super.setAllowCredentials(allowCredentials);
+        origins.clear();
+    }
+
+}
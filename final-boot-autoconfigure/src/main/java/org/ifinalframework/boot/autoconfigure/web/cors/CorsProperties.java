@@ -19,13 +19,14 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.web.servlet.config.annotation.CorsRegistration;
 
 import java.io.Serializable;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import lombok.Data;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 @Data
@@ -67,5 +68,61 @@ public class CorsProperties implements Serializable {
 
     private Long maxAge;
 
+    /**
+     * the max cached origin decisions.
+     *
+     * @see CachingCorsConfiguration
+     */
+    private int originCacheSize = 1024;
+
+    /**
+     * answer the preflight requests by a filter before the security filter chain and the mvc dispatch.
+     */
+    private boolean preflightFilter = false;
+
+    /**
+     * the named policies, each with its own {@link Policy#mapping}, besides the top level one.
+     */
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    /**
+     * @return the top level properties as a policy
+     */
+    Policy asPolicy() {
+        final Policy policy = new Policy();
+        policy.setMapping(mapping);
+        policy.setAllowCredentials(allowCredentials);
+        policy.setAllowedMethods(allowedMethods);
+        policy.setAllowedHeaders(allowedHeaders);
+        policy.setAllowedOrigins(allowedOrigins);
+        policy.setAllowedOriginPatterns(allowedOriginPatterns);
+        policy.setMaxAge(maxAge);
+        return policy;
+    }
+
+    @Data
+    public static class Policy implements Serializable {
+
+        private static final long serialVersionUID = -2867640316432958307L;
+
+        /**
+         * @see CorsRegistration#pathPattern
+         */
+        private String mapping;
+
+        private Boolean allowCredentials;
+
+        private String[] allowedMethods;
+
+        private String[] allowedHeaders;
+
+        private String[] allowedOrigins;
+
+        private String[] allowedOriginPatterns;
+
+        private Long maxAge;
+
+    }
+
 }
 
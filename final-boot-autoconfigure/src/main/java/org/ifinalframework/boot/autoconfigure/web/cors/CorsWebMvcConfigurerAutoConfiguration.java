@@ -15,26 +15,50 @@
 
 package org.ifinalframework.boot.autoconfigure.web.cors;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.ConditionContext;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.CorsRegistration;
-import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.lang.NonNull;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 /**
+ * Configure the cors of {@code spring.web.cors} and its named {@code policies} as a shared
+ * {@link #CORS_CONFIGURATION_SOURCE}, which is the global cors of the {@link RequestMappingHandlerMapping}, the
+ * security filter chain and the preflight filter.
+ *
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 @Configuration
 @ConditionalOnClass(WebMvcConfigurer.class)
 @EnableConfigurationProperties(CorsProperties.class)
 @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
-public class CorsWebMvcConfigurerAutoConfiguration implements WebMvcConfigurer {
+public class CorsWebMvcConfigurerAutoConfiguration {
+
+    public static final String CORS_CONFIGURATION_SOURCE = "corsConfigurationSource";
 
     private final CorsProperties corsProperties;
 
@@ -42,38 +66,134 @@ public class CorsWebMvcConfigurerAutoConfiguration implements WebMvcConfigurer {
         this.corsProperties = corsProperties;
     }
 
-    @Override
-    public void addCorsMappings(final CorsRegistry registry) {
+    @Bean(CORS_CONFIGURATION_SOURCE)
+    @Conditional(OnCorsMappingCondition.class)
+    public PathPatternCorsConfigurationSource corsConfigurationSource() {
+        final PathPatternCorsConfigurationSource source = new PathPatternCorsConfigurationSource();
+        for (CorsProperties.Policy policy : policies(corsProperties)) {
+            source.registerCorsConfiguration(policy.getMapping(),
+                    corsConfiguration(policy, corsProperties.getOriginCacheSize()));
+        }
+        return source;
+    }
+
+    @Bean
+    @Conditional(OnCorsMappingCondition.class)
+    public static CorsConfigurationSourcePostProcessor corsConfigurationSourcePostProcessor(
+            ObjectProvider<PathPatternCorsConfigurationSource> corsConfigurationSource) {
+        return new CorsConfigurationSourcePostProcessor(corsConfigurationSource);
+    }
 
+    @Bean
+    @Conditional(OnCorsMappingCondition.class)
+    @ConditionalOnProperty(prefix = CorsProperties.PREFIX, name = "preflight-filter", havingValue = "true")
+    public FilterRegistrationBean<CorsFilter> corsPreflightFilter(PathPatternCorsConfigurationSource corsConfigurationSource) {
+        final FilterRegistrationBean<CorsFilter> registration = new FilterRegistrationBean<>(new CorsFilter(corsConfigurationSource));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
 
-        if (Objects.isNull(corsProperties.getMapping())) {
-            return;
+    /**
+     * the first matched mapping wins, so the named policies are in the configured order before the top level one,
+     * which is the default of the other paths.
+     *
+     * @return the named policies, and the top level policy if its mapping is set
+     */
+    static List<CorsProperties.Policy> policies(CorsProperties corsProperties) {
+        final List<CorsProperties.Policy> policies = new ArrayList<>();
+        for (CorsProperties.Policy policy : corsProperties.getPolicies().values()) {
+            if (Objects.nonNull(policy.getMapping())) {
+                policies.add(policy);
+            }
+        }
+        if (Objects.nonNull(corsProperties.getMapping())) {
+            policies.add(corsProperties.asPolicy());
         }
+        return policies;
+    }
+
+    /**
+     * build the configuration of the configured values only, without the permit default values of the
+     * {@link org.springframework.web.servlet.config.annotation.CorsRegistration}, so the security filter chain
+     * allows no origin of a mapping without the allowed origins, and the mvc now does the same.
+     */
+    static CorsConfiguration corsConfiguration(CorsProperties.Policy policy, int originCacheSize) {
+        final CorsConfiguration corsConfiguration = new CachingCorsConfiguration(originCacheSize);
 
-        CorsRegistration registration = registry.addMapping(corsProperties.getMapping());
+        if (Objects.nonNull(policy.getAllowCredentials())) {
+            corsConfiguration.setAllowCredentials(policy.getAllowCredentials());
+        }
 
+        if (Objects.nonNull(policy.getAllowedOrigins())) {
+            corsConfiguration.setAllowedOrigins(Arrays.asList(policy.getAllowedOrigins()));
+        }
 
-        if (Objects.nonNull(corsProperties.getAllowCredentials())) {
-            registration.allowCredentials(corsProperties.getAllowCredentials());
+        if (Objects.nonNull(policy.getAllowedHeaders())) {
+            corsConfiguration.setAllowedHeaders(Arrays.asList(policy.getAllowedHeaders()));
         }
 
-        if (Objects.nonNull(corsProperties.getAllowedOrigins())) {
-            registration.allowedOrigins(corsProperties.getAllowedOrigins());
+        if (Objects.nonNull(policy.getAllowedMethods())) {
+            corsConfiguration.setAllowedMethods(Arrays.asList(policy.getAllowedMethods()));
         }
 
-        if (Objects.nonNull(corsProperties.getAllowedHeaders())) {
-            registration.allowedHeaders(corsProperties.getAllowedHeaders());
+        if (Objects.nonNull(policy.getAllowedOriginPatterns()) && policy.getAllowedOriginPatterns().length > 0) {
+            corsConfiguration.setAllowedOriginPatterns(Arrays.asList(policy.getAllowedOriginPatterns()));
         }
 
-        if (Objects.nonNull(corsProperties.getAllowedMethods())) {
-            registration.allowedMethods(corsProperties.getAllowedMethods());
+        if (Objects.nonNull(policy.getMaxAge())) {
+            corsConfiguration.setMaxAge(policy.getMaxAge());
         }
 
-        if (Objects.nonNull(corsProperties.getAllowedOriginPatterns()) && corsProperties.getAllowedOriginPatterns().length > 0) {
-            registration.allowedOriginPatterns(corsProperties.getAllowedOriginPatterns());
+        return corsConfiguration;
+    }
+
+    /**
+     * add the shared {@link #CORS_CONFIGURATION_SOURCE} to the global cors of the primary
+     * {@link RequestMappingHandlerMapping}, instead of a copy registered by a {@code CorsRegistry}, so that the mvc
+     * resolves the same {@link CorsConfiguration} instances as the security filter chain.
+     *
+     * <p>The mappings registered by the {@code CorsRegistry} of the other configurers are kept and take precedence
+     * for their paths, and the other handler mappings, such as the actuator ones, are untouched.</p>
+     */
+    static class CorsConfigurationSourcePostProcessor implements BeanPostProcessor {
+
+        static final String REQUEST_MAPPING_HANDLER_MAPPING = "requestMappingHandlerMapping";
+
+        private final ObjectProvider<PathPatternCorsConfigurationSource> corsConfigurationSource;
+
+        CorsConfigurationSourcePostProcessor(ObjectProvider<PathPatternCorsConfigurationSource> corsConfigurationSource) {
+            this.corsConfigurationSource = corsConfigurationSource;
         }
 
+        @Override
+        public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+            if (REQUEST_MAPPING_HANDLER_MAPPING.equals(beanName)
+                    && bean instanceof RequestMappingHandlerMapping handlerMapping) {
+                final CorsConfigurationSource shared = corsConfigurationSource.getObject();
+                // the registrations of the CorsRegistry are set when the mapping is created
+                final CorsConfigurationSource registered = handlerMapping.getCorsConfigurationSource();
+                handlerMapping.setCorsConfigurationSource(Objects.isNull(registered) ? shared : request -> {
+                    final CorsConfiguration config = registered.getCorsConfiguration(request);
+                    return Objects.nonNull(config) ? config : shared.getCorsConfiguration(request);
+                });
+            }
+            return bean;
+        }
     }
 
+    /**
+     * match when the top level mapping or any of the named policies is configured.
+     */
+    static class OnCorsMappingCondition extends SpringBootCondition {
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            final CorsProperties corsProperties = Binder.get(context.getEnvironment())
+                    .bind(CorsProperties.PREFIX, CorsProperties.class).orElseGet(CorsProperties::new);
+            return policies(corsProperties).isEmpty()
+                    ? ConditionOutcome.noMatch("no cors mapping of " + CorsProperties.PREFIX)
+                    : ConditionOutcome.match();
+        }
+    }
 
 }
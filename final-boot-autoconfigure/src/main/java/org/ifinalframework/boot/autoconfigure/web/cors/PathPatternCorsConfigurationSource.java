@@ -0,0 +1,158 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.cors;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link CorsConfigurationSource} which compiles the path patterns into a trie of their leading literal segments.
+ *
+ * <p>A request walks the trie along its path segments and only the patterns on the walked nodes are matched, so the
+ * lookup is {@code O(path segments)} rather than a scan of all the patterns. As the
+ * {@link org.springframework.web.cors.UrlBasedCorsConfigurationSource}, the first registered matched pattern wins.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class PathPatternCorsConfigurationSource implements CorsConfigurationSource {
+
+    private final Node root = new Node();
+
+    private final PathPatternParser parser;
+
+    private int size = 0;
+
+    public PathPatternCorsConfigurationSource() {
+        this(PathPatternParser.defaultInstance);
+    }
+
+    public PathPatternCorsConfigurationSource(PathPatternParser parser) {
+        this.parser = parser;
+    }
+
+    public void registerCorsConfiguration(String pattern, CorsConfiguration configuration) {
+        final PathPattern pathPattern = parser.parse(pattern);
+        Node node = root;
+        for (String segment : pathPattern.getPatternString().split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (!isLiteral(segment)) {
+                break;
+            }
+            node = node.children.computeIfAbsent(key(segment), key -> new Node());
+        }
+        node.entries.add(new Entry(size++, pathPattern, configuration));
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Nullable
+    @Override
+    public CorsConfiguration getCorsConfiguration(@NonNull HttpServletRequest request) {
+        final RequestPath requestPath = ServletRequestPathUtils.hasParsedRequestPath(request)
+                ? ServletRequestPathUtils.getParsedRequestPath(request)
+                : RequestPath.parse(request.getRequestURI(), request.getContextPath());
+        return getCorsConfiguration(requestPath.pathWithinApplication());
+    }
+
+    @Nullable
+    public CorsConfiguration getCorsConfiguration(PathContainer path) {
+        Entry matched = match(root, path, null);
+        Node node = root;
+        for (PathContainer.Element element : path.elements()) {
+            if (!(element instanceof PathContainer.PathSegment)) {
+                continue;
+            }
+            node = node.children.get(key(((PathContainer.PathSegment) element).valueToMatch()));
+            if (node == null) {
+                break;
+            }
+            matched = match(node, path, matched);
+        }
+        return matched == null ? null : matched.configuration;
+    }
+
+    @Nullable
+    private static Entry match(Node node, PathContainer path, @Nullable Entry matched) {
+        // the entries of a node are in the registered order
+        for (Entry entry : node.entries) {
+            if (matched != null && entry.order > matched.order) {
+                break;
+            }
+            if (entry.pattern.matches(path)) {
+                return entry;
+            }
+        }
+        return matched;
+    }
+
+    private String key(String segment) {
+        return parser.isCaseSensitive() ? segment : segment.toLowerCase();
+    }
+
+    private static boolean isLiteral(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            final char c = segment.charAt(i);
+            if (c == '*' || c == '?' || c == '{') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+
+        private final List<Entry> entries = new ArrayList<>(1);
+
+    }
+
+    private static final class Entry {
+
+        private final int order;
+
+        private final PathPattern pattern;
+
+        private final CorsConfiguration configuration;
+
+        private Entry(int order, PathPattern pattern, CorsConfiguration configuration) {
+            this.order = order;
+            this.pattern = pattern;
+            this.configuration = configuration;
+        }
+    }
+
+}
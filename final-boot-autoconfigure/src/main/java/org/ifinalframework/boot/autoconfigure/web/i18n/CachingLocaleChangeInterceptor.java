@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.i18n;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A {@link LocaleChangeInterceptor} which caches the parsed locale param values in a bounded Caffeine cache.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class CachingLocaleChangeInterceptor extends LocaleChangeInterceptor {
+
+    @Nullable
+    private final Map<String, Locale> cache;
+
+    /**
+     * @param cacheSize the max cached values, {@code 0} to disable the cache
+     */
+    public CachingLocaleChangeInterceptor(int cacheSize) {
+        this.cache = cacheSize > 0 ? LocaleCaches.create(cacheSize) : null;
+    }
+
+    @Nullable
+    @Override
+    protected Locale parseLocaleValue(@NonNull String localeValue) {
+        if (cache == null) {
+            return super.parseLocaleValue(localeValue);
+        }
+
+        // a not parsed value is not cached
+        return cache.computeIfAbsent(localeValue, super::parseLocaleValue);
+    }
+
+}
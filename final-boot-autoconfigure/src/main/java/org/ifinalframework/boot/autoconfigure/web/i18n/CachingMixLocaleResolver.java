@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.i18n;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.i18n.CookieLocaleResolver;
+import org.springframework.web.util.WebUtils;
+
+import org.ifinalframework.web.servlet.i18n.MixLocaleResolver;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A {@link MixLocaleResolver} which caches the resolved {@link Locale} by the raw param, header, cookie and
+ * {@code Accept-Language} values, so a repeated value is parsed and negotiated against the supported locales once.
+ *
+ * <p>The cache is a bounded Caffeine cache, a locale set on the request is always resolved by the super.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class CachingMixLocaleResolver extends MixLocaleResolver {
+
+    private static final String ACCEPT_LANGUAGE = "Accept-Language";
+
+    @Nullable
+    private final Map<String, Locale> cache;
+
+    private String paramName;
+
+    private String headerName;
+
+    private String cookieName;
+
+    /**
+     * @param cacheSize the max cached values, {@code 0} to disable the cache
+     */
+    public CachingMixLocaleResolver(int cacheSize) {
+        this.cache = cacheSize > 0 ? LocaleCaches.create(cacheSize) : null;
+    }
+
+    @NonNull
+    @Override
+    public Locale resolveLocale(@NonNull HttpServletRequest request) {
+        if (cache == null || request.getAttribute(CookieLocaleResolver.LOCALE_REQUEST_ATTRIBUTE_NAME) != null) {
+            return super.resolveLocale(request);
+        }
+
+        return cache.computeIfAbsent(key(request), key -> super.resolveLocale(request));
+    }
+
+    private String key(HttpServletRequest request) {
+        final Cookie cookie = cookieName == null ? null : WebUtils.getCookie(request, cookieName);
+        return (paramName == null ? null : request.getParameter(paramName))
+                + "\u0000" + (headerName == null ? null : request.getHeader(headerName))
+                + "\u0000" + (cookie == null ? null : cookie.getValue())
+                + "\u0000" + request.getHeader(ACCEPT_LANGUAGE);
+    }
+
+    @Override
+    public void setParamName(String paramName) {
+        super.setParamName(paramName);
+        this.paramName = paramName;
+    }
+
+    @Override
+    public void setHeaderName(String headerName) {
+        super.setHeaderName(headerName);
+        this.headerName = headerName;
+    }
+
+    @Override
+    public void setCookieName(String cookieName) {
+        super.setCookieName(cookieName);
+        this.cookieName = cookieName;
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.i18n;
+
+import java.util.Map;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Create the bounded locale caches, which loads the optional caffeine only when a cache is enabled.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+final class LocaleCaches {
+
+    private LocaleCaches() {
+    }
+
+    /**
+     * the eviction runs on the calling thread, so the cache never exceeds the size by more than the concurrent
+     * writes.
+     *
+     * @param cacheSize the max cached values
+     */
+    static <V> Map<String, V> create(int cacheSize) {
+        return Caffeine.newBuilder().maximumSize(cacheSize).executor(Runnable::run).<String, V>build().asMap();
+    }
+
+}
@@ -23,7 +23,7 @@ import java.util.Locale;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 @ConfigurationProperties(prefix = "final.i18n")
@@ -60,6 +60,28 @@ public class LocaleProperties implements Serializable {
 
     private String cookiePath = DEFAULT_LOCALE_COOKIE_PATH;
 
+    /**
+     * the max cached locale values, {@code 0} disables the cache, which requires caffeine when enabled.
+     *
+     * @see CachingMixLocaleResolver
+     * @see CachingLocaleChangeInterceptor
+     */
+    private int cacheSize = 0;
+
+    /**
+     * the path patterns of the locale change interceptor, defaults to all.
+     */
+    private List<String> interceptorIncludePatterns;
+
+    private List<String> interceptorExcludePatterns;
+
+    /**
+     * preload the message bundles of the supported locales at startup.
+     *
+     * @see PreloadedMessageSource
+     */
+    private boolean preloadMessages = false;
+
     public Locale getDefaultLocale() {
 
         return defaultLocale;
@@ -140,5 +162,44 @@ public class LocaleProperties implements Serializable {
         this.cookiePath = cookiePath;
     }
 
-}
+    public int getCacheSize() {
+
+        return cacheSize;
+    }
+
+    public void setCacheSize(final int cacheSize) {
+
+        this.cacheSize = cacheSize;
+    }
+
+    public List<String> getInterceptorIncludePatterns() {
 
+        return interceptorIncludePatterns;
+    }
+
+    public void setInterceptorIncludePatterns(final List<String> interceptorIncludePatterns) {
+
+        this.interceptorIncludePatterns = interceptorIncludePatterns;
+    }
+
+    public List<String> getInterceptorExcludePatterns() {
+
+        return interceptorExcludePatterns;
+    }
+
+    public void setInterceptorExcludePatterns(final List<String> interceptorExcludePatterns) {
+
+        this.interceptorExcludePatterns = interceptorExcludePatterns;
+    }
+
+    public boolean isPreloadMessages() {
+
+        return preloadMessages;
+    }
+
+    public void setPreloadMessages(final boolean preloadMessages) {
+
+        this.preloadMessages = preloadMessages;
+    }
+
+}
@@ -21,7 +21,11 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.AbstractResourceBasedMessageSource;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.CollectionUtils;
 import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
@@ -29,11 +33,14 @@ import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
 import org.ifinalframework.context.util.Messages;
 import org.ifinalframework.web.servlet.i18n.MixLocaleResolver;
 
+import lombok.extern.slf4j.Slf4j;
+
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
+@Slf4j
 @Configuration
 @ConditionalOnClass(LocaleResolver.class)
 @EnableConfigurationProperties(LocaleProperties.class)
@@ -44,13 +51,27 @@ public class LocaleWebMvcConfigurerAutoConfiguration implements WebMvcConfigurer
     public LocaleWebMvcConfigurerAutoConfiguration(final LocaleProperties properties, final MessageSource messageSource) {
 
         this.properties = properties;
-        Messages.setMessageSource(messageSource);
+        Messages.setMessageSource(preload(messageSource));
+    }
+
+    private MessageSource preload(final MessageSource messageSource) {
+
+        if (!properties.isPreloadMessages() || CollectionUtils.isEmpty(properties.getSupportedLocales())) {
+            return messageSource;
+        }
+        if (!(messageSource instanceof AbstractResourceBasedMessageSource resourceMessageSource)) {
+            logger.warn("skip preloading messages of the not resource based message source {}.", messageSource);
+            return messageSource;
+        }
+        return new PreloadedMessageSource(messageSource, resourceMessageSource.getBasenameSet(),
+                properties.getSupportedLocales(), resourceMessageSource.getDefaultEncoding(),
+                ClassUtils.getDefaultClassLoader());
     }
 
     @Bean(name = "localeResolver")
     @ConditionalOnMissingBean(LocaleResolver.class)
     public MixLocaleResolver localeResolver() {
-        MixLocaleResolver localeResolver = new MixLocaleResolver();
+        MixLocaleResolver localeResolver = new CachingMixLocaleResolver(properties.getCacheSize());
         localeResolver.setDefaultLocale(properties.getDefaultLocale());
         localeResolver.setSupportedLocales(properties.getSupportedLocales());
 
@@ -67,11 +88,17 @@ public class LocaleWebMvcConfigurerAutoConfiguration implements WebMvcConfigurer
     @Override
     public void addInterceptors(final InterceptorRegistry registry) {
 
-        registry.addInterceptor(localeChangeInterceptor());
+        final InterceptorRegistration registration = registry.addInterceptor(localeChangeInterceptor());
+        if (!CollectionUtils.isEmpty(properties.getInterceptorIncludePatterns())) {
+            registration.addPathPatterns(properties.getInterceptorIncludePatterns());
+        }
+        if (!CollectionUtils.isEmpty(properties.getInterceptorExcludePatterns())) {
+            registration.excludePathPatterns(properties.getInterceptorExcludePatterns());
+        }
     }
 
     public LocaleChangeInterceptor localeChangeInterceptor() {
-        LocaleChangeInterceptor interceptor = new LocaleChangeInterceptor();
+        LocaleChangeInterceptor interceptor = new CachingLocaleChangeInterceptor(properties.getCacheSize());
         interceptor.setParamName(properties.getParamName());
         return interceptor;
     }
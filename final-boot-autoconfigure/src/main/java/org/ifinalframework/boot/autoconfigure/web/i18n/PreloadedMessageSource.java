@@ -0,0 +1,236 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.i18n;
+
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ObjectUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A {@link MessageSource} which looks up the messages of the preloaded locales from an immutable index of pre-parsed
+ * {@link MessageFormat}s, and delegates to the parent on a miss.
+ *
+ * <p>The bundles are resolved like {@link org.springframework.context.support.ResourceBundleMessageSource} without
+ * the system locale fallback, the first basename wins when a code is defined by more than one bundle.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see LocaleProperties#isPreloadMessages()
+ * @since 1.6.0
+ */
+@Slf4j
+public class PreloadedMessageSource implements MessageSource {
+
+    private final MessageSource parent;
+
+    private final Map<Locale, Map<String, Message>> index;
+
+    /**
+     * @param parent      the message source of the missed codes and locales
+     * @param basenames   the bundle basenames, e.g. {@code i18n/messages}
+     * @param locales     the preloaded locales
+     * @param encoding    the bundle encoding, or {@code null} for the JDK default
+     * @param classLoader the bundle class loader
+     */
+    public PreloadedMessageSource(MessageSource parent, Collection<String> basenames, Collection<Locale> locales,
+                                  @Nullable String encoding, ClassLoader classLoader) {
+        this.parent = parent;
+        final ResourceBundle.Control control = new EncodingControl(encoding);
+        final Map<Locale, Map<String, Message>> index = new HashMap<>();
+        for (Locale locale : locales) {
+            final Map<String, Message> messages = new LinkedHashMap<>();
+            for (String basename : basenames) {
+                final ResourceBundle bundle;
+                try {
+                    bundle = ResourceBundle.getBundle(basename, locale, classLoader, control);
+                } catch (MissingResourceException e) {
+                    logger.warn("preload message bundle {} of {} not found.", basename, locale);
+                    continue;
+                }
+                for (String code : bundle.keySet()) {
+                    messages.computeIfAbsent(code, key -> new Message(bundle.getString(key), locale));
+                }
+            }
+            index.put(locale, Map.copyOf(messages));
+            logger.info("preloaded {} messages of {}.", messages.size(), locale);
+        }
+        this.index = Map.copyOf(index);
+    }
+
+    @Override
+    @Nullable
+    public String getMessage(@NonNull String code, @Nullable Object[] args, @Nullable String defaultMessage,
+                             @Nullable Locale locale) {
+        final Message message = lookup(code, locale);
+        if (message != null && message.formattable(args)) {
+            return message.format(resolveArguments(args, locale));
+        }
+        return parent.getMessage(code, args, defaultMessage, locale);
+    }
+
+    @Override
+    @NonNull
+    public String getMessage(@NonNull String code, @Nullable Object[] args, @Nullable Locale locale)
+            throws NoSuchMessageException {
+        final Message message = lookup(code, locale);
+        if (message != null && message.formattable(args)) {
+            return message.format(resolveArguments(args, locale));
+        }
+        return parent.getMessage(code, args, locale);
+    }
+
+    @Override
+    @NonNull
+    public String getMessage(@NonNull MessageSourceResolvable resolvable, @Nullable Locale locale)
+            throws NoSuchMessageException {
+        final String[] codes = resolvable.getCodes();
+        if (codes != null) {
+            final Object[] args = resolvable.getArguments();
+            for (String code : codes) {
+                final Message message = lookup(code, locale);
+                if (message != null && message.formattable(args)) {
+                    return message.format(resolveArguments(args, locale));
+                }
+            }
+        }
+        return parent.getMessage(resolvable, locale);
+    }
+
+    @Nullable
+    private Message lookup(@Nullable String code, @Nullable Locale locale) {
+        if (code == null || locale == null) {
+            return null;
+        }
+        final Map<String, Message> messages = index.get(locale);
+        return messages == null ? null : messages.get(code);
+    }
+
+    @Nullable
+    private Object[] resolveArguments(@Nullable Object[] args, @Nullable Locale locale) {
+        if (ObjectUtils.isEmpty(args)) {
+            return args;
+        }
+        Object[] resolved = args;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof MessageSourceResolvable resolvable) {
+                if (resolved == args) {
+                    resolved = args.clone();
+                }
+                resolved[i] = getMessage(resolvable, locale);
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * A message text and its pre-parsed format, the format is {@code null} if the text is not a valid pattern.
+     */
+    private static final class Message {
+
+        private final String text;
+
+        @Nullable
+        private final MessageFormat format;
+
+        private Message(String text, Locale locale) {
+            this.text = text;
+            this.format = parse(text, locale);
+        }
+
+        private boolean formattable(@Nullable Object[] args) {
+            return format != null || ObjectUtils.isEmpty(args);
+        }
+
+        private String format(@Nullable Object[] args) {
+            // the text is returned as is without arguments, the same as MessageSourceSupport
+            if (ObjectUtils.isEmpty(args)) {
+                return text;
+            }
+            // MessageFormat is not thread-safe, a clone skips the pattern parsing
+            return ((MessageFormat) format.clone()).format(args);
+        }
+
+        @Nullable
+        private static MessageFormat parse(String text, Locale locale) {
+            try {
+                return new MessageFormat(text, locale);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+    }
+
+    private static final class EncodingControl extends ResourceBundle.Control {
+
+        @Nullable
+        private final String encoding;
+
+        private EncodingControl(@Nullable String encoding) {
+            this.encoding = encoding;
+        }
+
+        @Override
+        public List<String> getFormats(String baseName) {
+            return FORMAT_PROPERTIES;
+        }
+
+        @Override
+        @Nullable
+        public Locale getFallbackLocale(String baseName, Locale locale) {
+            return null;
+        }
+
+        @Override
+        @Nullable
+        public ResourceBundle newBundle(String baseName, Locale locale, String format, ClassLoader loader,
+                                        boolean reload) throws IllegalAccessException, InstantiationException, IOException {
+            if (encoding == null) {
+                return super.newBundle(baseName, locale, format, loader, reload);
+            }
+            final String resourceName = toResourceName(toBundleName(baseName, locale), "properties");
+            final InputStream in = loader.getResourceAsStream(resourceName);
+            if (in == null) {
+                return null;
+            }
+            try (Reader reader = new InputStreamReader(in, encoding)) {
+                return new PropertyResourceBundle(reader);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.servlet;
+
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Rewrite the request uri by the {@link RequestURIRewriteTrie}, the rules of
+ * {@code spring.web.request-uri-rewrite.rules} are matched in one pass.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class RequestURIRewriteFilter extends OncePerRequestFilter {
+
+    private final RequestURIRewriteTrie trie;
+
+    public RequestURIRewriteFilter(RequestURIRewriteTrie trie) {
+        this.trie = trie;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        final String contextPath = request.getContextPath();
+        final String uri = request.getRequestURI().substring(contextPath.length());
+        final String rewritten = trie.rewrite(uri);
+        filterChain.doFilter(rewritten == null ? request : new RewrittenRequest(request, contextPath, rewritten), response);
+    }
+
+    private static class RewrittenRequest extends HttpServletRequestWrapper {
+
+        private final String requestURI;
+
+        private final String servletPath;
+
+        RewrittenRequest(HttpServletRequest request, String contextPath, String path) {
+            super(request);
+            this.requestURI = contextPath + path;
+            // the servlet path of a default servlet mapping is the whole path
+            this.servletPath = request.getPathInfo() == null ? path : request.getServletPath();
+        }
+
+        @Override
+        public String getRequestURI() {
+            return requestURI;
+        }
+
+        @Override
+        public StringBuffer getRequestURL() {
+            final StringBuffer url = new StringBuffer(getScheme()).append("://").append(getServerName());
+            final int port = getServerPort();
+            if (port > 0 && !("http".equals(getScheme()) && port == 80 || "https".equals(getScheme()) && port == 443)) {
+                url.append(':').append(port);
+            }
+            return url.append(requestURI);
+        }
+
+        @Override
+        public String getServletPath() {
+            return servletPath;
+        }
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.servlet;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * The rewrite rules compiled into a prefix trie, which rewrites the longest matched prefix by its replacement in one
+ * pass over the uri.
+ *
+ * <p>A prefix matches on the path segment boundaries only, so {@code /api} rewrites {@code /api} and
+ * {@code /api/users}, but not {@code /apix/users}, and never shadows a sibling such as {@code /api-v2}. A prefix
+ * ending with {@code /} matches any uri starting with it.</p>
+ *
+ * <p>The results of the recent uris could be cached in a bounded Caffeine cache, which requires
+ * {@code com.github.ben-manes.caffeine:caffeine}.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class RequestURIRewriteTrie {
+
+    /**
+     * the cached result of a not matched uri.
+     */
+    private static final String NONE = new String();
+
+    private final Node root = new Node();
+
+    @Nullable
+    private final Map<String, String> cache;
+
+    /**
+     * @param rules     the replacements keyed by the prefixes
+     * @param cacheSize the max cached uris, {@code 0} to disable the cache
+     */
+    public RequestURIRewriteTrie(Map<String, String> rules, int cacheSize) {
+        this.cache = cacheSize > 0 ? CaffeineCache.create(cacheSize) : null;
+        rules.forEach((prefix, replacement) -> {
+            Node node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            node.prefixLength = prefix.length();
+            node.replacement = replacement;
+        });
+    }
+
+    /**
+     * @param uri the request uri
+     * @return the rewritten uri, or {@code null} if no prefix matched
+     */
+    @Nullable
+    public String rewrite(String uri) {
+        if (cache == null) {
+            return match(uri);
+        }
+
+        final String cached = cache.get(uri);
+        if (cached != null) {
+            return cached == NONE ? null : cached;
+        }
+        final String rewritten = match(uri);
+        cache.put(uri, rewritten == null ? NONE : rewritten);
+        return rewritten;
+    }
+
+    @Nullable
+    private String match(String uri) {
+        Node node = root;
+        Node matched = root.replacement == null ? null : root;
+        for (int i = 0; i < uri.length(); i++) {
+            node = node.get(uri.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.replacement != null && isBoundary(uri, i)) {
+                matched = node;
+            }
+        }
+        return matched == null ? null : matched.replacement + uri.substring(matched.prefixLength);
+    }
+
+    /**
+     * @return whether the prefix ending at the index ends a path segment of the uri
+     */
+    private static boolean isBoundary(String uri, int index) {
+        return uri.charAt(index) == '/' || index + 1 == uri.length() || uri.charAt(index + 1) == '/';
+    }
+
+    /**
+     * A node with the children sorted by their chars, so a lookup does not box the char.
+     */
+    private static final class Node {
+
+        private char[] chars = new char[0];
+
+        private Node[] children = new Node[0];
+
+        private int prefixLength;
+
+        @Nullable
+        private String replacement;
+
+        @Nullable
+        private Node get(char c) {
+            final int index = Arrays.binarySearch(chars, c);
+            return index < 0 ? null : children[index];
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(chars, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            index = -index - 1;
+            final Node child = new Node();
+            final char[] newChars = new char[chars.length + 1];
+            final Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(chars, 0, newChars, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newChars[index] = c;
+            newChildren[index] = child;
+            System.arraycopy(chars, index, newChars, index + 1, chars.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            chars = newChars;
+            children = newChildren;
+            return child;
+        }
+
+    }
+
+    /**
+     * load the optional caffeine only when the cache is enabled.
+     */
+    private static final class CaffeineCache {
+
+        private static Map<String, String> create(int cacheSize) {
+            return Caffeine.newBuilder().maximumSize(cacheSize).<String, String>build().asMap();
+        }
+    }
+
+}
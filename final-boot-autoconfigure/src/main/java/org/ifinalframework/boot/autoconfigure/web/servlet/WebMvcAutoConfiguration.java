@@ -16,6 +16,7 @@
 package org.ifinalframework.boot.autoconfigure.web.servlet;
 
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -24,10 +25,17 @@ import org.springframework.context.annotation.Configuration;
 
 import org.ifinalframework.web.servlet.filter.RequestURIRewriteRequestFilter;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * WebServletAutoConfiguration
  *
+ * <p>The single {@code prefix} is served by the {@link RequestURIRewriteRequestFilter}, once any of the {@code rules}
+ * is configured, all of them are served by the {@link RequestURIRewriteFilter} in one pass.</p>
+ *
  * @author iimik
+ * @version 1.6.0
  * @since 1.5.6
  **/
 @Configuration
@@ -37,10 +45,24 @@ public class WebMvcAutoConfiguration {
 
     @Bean
     @ConditionalOnProperty(prefix = "spring.web.request-uri-rewrite", name = "prefix")
+    @ConditionalOnExpression("'${spring.web.request-uri-rewrite.rules[0].prefix:}' == ''")
     public RequestURIRewriteRequestFilter requestURIRewriteRequestFilter(WebRequestURIRewriteProperties properties) {
         RequestURIRewriteRequestFilter filter = new RequestURIRewriteRequestFilter(properties.getPrefix(),
             properties.getReplacement());
         return filter;
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.web.request-uri-rewrite", name = "rules[0].prefix")
+    public RequestURIRewriteFilter requestURIRewriteFilter(WebRequestURIRewriteProperties properties) {
+        final Map<String, String> rules = new LinkedHashMap<>();
+        if (properties.getPrefix() != null) {
+            rules.put(properties.getPrefix(), properties.getReplacement());
+        }
+        for (WebRequestURIRewriteProperties.Rule rule : properties.getRules()) {
+            rules.put(rule.getPrefix(), rule.getReplacement());
+        }
+        return new RequestURIRewriteFilter(new RequestURIRewriteTrie(rules, properties.getCacheSize()));
+    }
+
 }
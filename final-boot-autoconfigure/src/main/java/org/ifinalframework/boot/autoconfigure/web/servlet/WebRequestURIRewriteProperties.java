@@ -18,13 +18,19 @@ package org.ifinalframework.boot.autoconfigure.web.servlet;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import lombok.Getter;
 import lombok.Setter;
 
 /**
  * WebMvcRequestURIRewriteProperties
  *
+ * <p>The {@link #rules} are compiled with the {@link #prefix} into a {@link RequestURIRewriteTrie}.</p>
+ *
  * @author iimik
+ * @version 1.6.0
  * @since 1.5.6
  **/
 @Setter
@@ -33,4 +39,18 @@ import lombok.Setter;
 public class WebRequestURIRewriteProperties {
     private String prefix;
     private String replacement = "";
+
+    private List<Rule> rules = new ArrayList<>();
+
+    /**
+     * the max cached uris of the rules, {@code 0} disables the cache, which requires caffeine when enabled.
+     */
+    private int cacheSize = 0;
+
+    @Setter
+    @Getter
+    public static class Rule {
+        private String prefix;
+        private String replacement = "";
+    }
 }
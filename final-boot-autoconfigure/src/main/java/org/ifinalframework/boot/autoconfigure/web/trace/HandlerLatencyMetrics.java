@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.trace;
+
+import org.springframework.web.method.HandlerMethod;
+
+import java.io.Closeable;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * The request latency histograms per handler method, the snapshot of each interval is exported as the meters:
+ *
+ * <ul>
+ *     <li>{@code final.trace.latency}: the latency at the {@code quantile} tag.</li>
+ *     <li>{@code final.trace.latency.max}: the max latency.</li>
+ *     <li>{@code final.trace.latency.count}: the count of the requests.</li>
+ * </ul>
+ *
+ * <p>Every meter is tagged by the {@code handler}, which is {@code ControllerSimpleName#method}.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see LatencyHandlerInterceptor
+ * @since 1.6.0
+ */
+public class HandlerLatencyMetrics implements Closeable {
+
+    private static final String METER = "final.trace.latency";
+
+    private final Map<Method, StripedLatencyRecorder> recorders = new ConcurrentHashMap<>();
+
+    private final MeterRegistry registry;
+
+    private final TraceProperties.Metrics properties;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "handler-latency-metrics");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public HandlerLatencyMetrics(MeterRegistry registry, TraceProperties.Metrics properties) {
+        this.registry = registry;
+        this.properties = properties;
+        final long interval = properties.getInterval().toMillis();
+        if (interval <= 0) {
+            throw new IllegalArgumentException("the final.trace.metrics.interval must be positive, but "
+                    + properties.getInterval());
+        }
+        executor.scheduleAtFixedRate(this::snapshot, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void record(HandlerMethod handler, long nanos) {
+        StripedLatencyRecorder recorder = recorders.get(handler.getMethod());
+        if (recorder == null) {
+            recorder = recorders.computeIfAbsent(handler.getMethod(), method -> register(handler));
+        }
+        recorder.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    private StripedLatencyRecorder register(HandlerMethod handler) {
+        final StripedLatencyRecorder recorder = new StripedLatencyRecorder(
+                properties.getHighestTrackableValue().toNanos() / 1000, properties.getSignificantDigits(),
+                properties.getStripes());
+        final String name = handler.getBeanType().getSimpleName() + "#" + handler.getMethod().getName();
+        for (double quantile : properties.getPercentiles()) {
+            TimeGauge.builder(METER, recorder, TimeUnit.MICROSECONDS,
+                            it -> it.getSnapshot().getValueAtPercentile(quantile * 100))
+                    .tag("handler", name).tag("quantile", String.valueOf(quantile))
+                    .register(registry);
+        }
+        TimeGauge.builder(METER + ".max", recorder, TimeUnit.MICROSECONDS, it -> it.getSnapshot().getMaxValue())
+                .tag("handler", name).register(registry);
+        Gauge.builder(METER + ".count", recorder, it -> it.getSnapshot().getTotalCount())
+                .tag("handler", name).register(registry);
+        return recorder;
+    }
+
+    void snapshot() {
+        recorders.values().forEach(StripedLatencyRecorder::snapshot);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+}
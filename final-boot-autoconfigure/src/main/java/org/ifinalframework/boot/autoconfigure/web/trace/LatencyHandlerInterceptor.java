@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.trace;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Record the latency of the {@link HandlerMethod} into the {@link HandlerLatencyMetrics}, from the first
+ * {@link #preHandle} to the {@link #afterCompletion} of the request, including the async dispatches.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class LatencyHandlerInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START = LatencyHandlerInterceptor.class.getName() + ".START";
+
+    private final HandlerLatencyMetrics metrics;
+
+    public LatencyHandlerInterceptor(HandlerLatencyMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (handler instanceof HandlerMethod && request.getAttribute(START) == null) {
+            request.setAttribute(START, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, @Nullable Exception ex) {
+        final Object start = request.getAttribute(START);
+        if (handler instanceof HandlerMethod && start instanceof Long) {
+            metrics.record((HandlerMethod) handler, System.nanoTime() - (Long) start);
+        }
+    }
+
+}
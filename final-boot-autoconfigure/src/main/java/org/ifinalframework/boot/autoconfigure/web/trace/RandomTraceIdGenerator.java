@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generate a random 128-bit trace id in 32 lower hex chars, which is also a valid W3C {@code trace-id}.
+ *
+ * <p>The hex chars are written into a reused thread local buffer, so only the result {@link String} is allocated.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see TraceParent
+ * @since 1.6.0
+ */
+public class RandomTraceIdGenerator implements TraceIdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[32]);
+
+    @Override
+    public String generate() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high;
+        long low;
+        do {
+            high = random.nextLong();
+            low = random.nextLong();
+        } while (high == 0 && low == 0);
+
+        final char[] buffer = BUFFER.get();
+        write(buffer, 0, high);
+        write(buffer, 16, low);
+        return new String(buffer);
+    }
+
+    /**
+     * @return a random 64-bit span id in 16 lower hex chars
+     */
+    static String spanId() {
+        long value;
+        do {
+            value = ThreadLocalRandom.current().nextLong();
+        } while (value == 0);
+        final char[] buffer = BUFFER.get();
+        write(buffer, 0, value);
+        return new String(buffer, 0, 16);
+    }
+
+    private static void write(char[] buffer, int offset, long value) {
+        for (int i = offset + 15; i >= offset; i--) {
+            buffer[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.trace;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Record the latencies into the HDR {@link Recorder} stripe of the current thread. A {@link Recorder} already accepts
+ * concurrent writers, so a single stripe fits most handlers; more stripes only spread a very hot handler over more
+ * counts arrays, each of which costs the memory of a whole histogram.
+ *
+ * <p>The recording is wait-free, the {@link #snapshot()} of the last interval is taken by a single thread.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class StripedLatencyRecorder {
+
+    private final long highestTrackableValue;
+
+    private final int significantDigits;
+
+    private final Recorder[] stripes;
+
+    private final Histogram[] recycled;
+
+    private final int mask;
+
+    private volatile Histogram snapshot;
+
+    /**
+     * @param highestTrackableValue the highest latency in microseconds, a higher one is recorded as it
+     * @param significantDigits     the significant value digits of the histograms
+     * @param stripes               the count of the recorders, rounded down to a power of two
+     */
+    StripedLatencyRecorder(long highestTrackableValue, int significantDigits, int stripes) {
+        this.highestTrackableValue = highestTrackableValue;
+        this.significantDigits = significantDigits;
+        final int size = Integer.highestOneBit(Math.max(1, stripes));
+        this.stripes = new Recorder[size];
+        this.recycled = new Histogram[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Recorder(highestTrackableValue, significantDigits);
+        }
+        this.snapshot = new Histogram(highestTrackableValue, significantDigits);
+    }
+
+    void record(long micros) {
+        stripes[(int) Thread.currentThread().getId() & mask]
+                .recordValue(Math.max(0, Math.min(micros, highestTrackableValue)));
+    }
+
+    /**
+     * merge the stripes recorded since the last snapshot into a new one.
+     */
+    synchronized Histogram snapshot() {
+        final Histogram merged = new Histogram(highestTrackableValue, significantDigits);
+        for (int i = 0; i < stripes.length; i++) {
+            recycled[i] = stripes[i].getIntervalHistogram(recycled[i]);
+            merged.add(recycled[i]);
+        }
+        this.snapshot = merged;
+        return merged;
+    }
+
+    /**
+     * @return the last {@link #snapshot()}
+     */
+    Histogram getSnapshot() {
+        return snapshot;
+    }
+
+}
@@ -15,21 +15,47 @@
 
 package org.ifinalframework.boot.autoconfigure.web.trace;
 
+import okhttp3.OkHttpClient;
+
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import org.ifinalframework.auto.spring.factory.annotation.SpringAutoConfiguration;
+import org.ifinalframework.boot.autoconfigure.okhttp.OkHttpClientBuilderCustomizer;
 import org.ifinalframework.web.servlet.interceptor.TraceHandlerInterceptor;
 
+import org.HdrHistogram.Recorder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
+ * Configure the {@link TraceHandlerInterceptor}, and propagate the trace id into the outgoing {@link OkHttpClient}
+ * requests and the async tasks.
+ *
+ * <p>When {@code final.trace.metrics.enabled=true}, the latency histograms per handler method are recorded by the
+ * {@link LatencyHandlerInterceptor}.</p>
+ *
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 @Configuration
 @SpringAutoConfiguration
+// after the MeterRegistry of the actuator, which the latency metrics are conditional on
+@AutoConfigureAfter(name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
 @ConditionalOnBean(TraceHandlerInterceptor.class)
 @EnableConfigurationProperties(TraceProperties.class)
 public class TraceHandlerInterceptorAutoConfiguration implements InitializingBean {
@@ -49,8 +75,72 @@ public class TraceHandlerInterceptorAutoConfiguration implements InitializingBea
     public void afterPropertiesSet() {
 
         traceHandlerInterceptor.setTraceName(properties.getName());
-        traceHandlerInterceptor.setTraceName(properties.getParam());
+        traceHandlerInterceptor.setParamName(properties.getParam());
         traceHandlerInterceptor.setHeaderName(properties.getHeader());
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public TraceIdGenerator traceIdGenerator() {
+        return new RandomTraceIdGenerator();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "traceIdFilter")
+    public FilterRegistrationBean<TraceIdFilter> traceIdFilter(TraceIdGenerator traceIdGenerator) {
+        final FilterRegistrationBean<TraceIdFilter> registration
+                = new FilterRegistrationBean<>(new TraceIdFilter(properties, traceIdGenerator));
+        // before the other filters, so that they log with the trace id
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TaskDecorator mdcTaskDecorator() {
+        return new MdcTaskDecorator();
+    }
+
+    /**
+     * record the latency per handler method by an interceptor, instead of another filter.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({Recorder.class, MeterRegistry.class})
+    @ConditionalOnProperty(prefix = TraceProperties.PREFIX + ".metrics", name = "enabled", havingValue = "true")
+    static class TraceMetricsConfiguration implements WebMvcConfigurer {
+
+        private final ObjectProvider<HandlerLatencyMetrics> handlerLatencyMetrics;
+
+        TraceMetricsConfiguration(ObjectProvider<HandlerLatencyMetrics> handlerLatencyMetrics) {
+            this.handlerLatencyMetrics = handlerLatencyMetrics;
+        }
+
+        @Bean
+        @ConditionalOnBean(MeterRegistry.class)
+        @ConditionalOnMissingBean
+        public HandlerLatencyMetrics handlerLatencyMetrics(TraceProperties properties, MeterRegistry meterRegistry) {
+            return new HandlerLatencyMetrics(meterRegistry, properties.getMetrics());
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            handlerLatencyMetrics.ifAvailable(metrics -> registry.addInterceptor(new LatencyHandlerInterceptor(metrics)));
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(OkHttpClient.class)
+    static class TraceOkHttpConfiguration {
+
+        @Bean
+        public TraceOkHttpInterceptor traceOkHttpInterceptor(TraceProperties properties) {
+            return new TraceOkHttpInterceptor(properties);
+        }
+
+        @Bean
+        public OkHttpClientBuilderCustomizer traceOkHttpClientBuilderCustomizer(TraceOkHttpInterceptor interceptor) {
+            return builder -> builder.addInterceptor(interceptor);
+        }
+    }
+
 }
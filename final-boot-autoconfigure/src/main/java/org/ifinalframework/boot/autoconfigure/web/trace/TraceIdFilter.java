@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.trace;
+
+import org.springframework.lang.NonNull;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import org.slf4j.MDC;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Inject the trace header into a request which does not carry one by the header or the param, so the
+ * {@link org.ifinalframework.web.servlet.interceptor.TraceHandlerInterceptor} uses the trace id of the W3C
+ * {@code traceparent} header, or a new one of the {@link TraceIdGenerator}. The trace, supplied by the caller or not,
+ * is put into the {@link MDC} for the filters after this one.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class TraceIdFilter extends OncePerRequestFilter {
+
+    private final TraceProperties properties;
+
+    private final TraceIdGenerator generator;
+
+    public TraceIdFilter(TraceProperties properties, TraceIdGenerator generator) {
+        this.properties = properties;
+        this.generator = generator;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        // the trace of the caller, by the header or the param
+        String trace = request.getHeader(properties.getHeader());
+        if (trace == null && StringUtils.hasText(properties.getParam())) {
+            trace = request.getParameter(properties.getParam());
+        }
+        final boolean supplied = trace != null;
+
+        if (!supplied) {
+            trace = properties.isTraceparent() ? TraceParent.parseTraceId(request.getHeader(TraceParent.HEADER)) : null;
+            if (trace == null) {
+                trace = generator.generate();
+            }
+        }
+
+        MDC.put(properties.getName(), trace);
+        try {
+            filterChain.doFilter(supplied ? request : new TraceRequestWrapper(request, properties.getHeader(), trace),
+                    response);
+        } finally {
+            MDC.remove(properties.getName());
+        }
+    }
+
+    private static class TraceRequestWrapper extends HttpServletRequestWrapper {
+
+        private final String header;
+
+        private final String trace;
+
+        TraceRequestWrapper(HttpServletRequest request, String header, String trace) {
+            super(request);
+            this.header = header;
+            this.trace = trace;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return header.equalsIgnoreCase(name) ? trace : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return header.equalsIgnoreCase(name) ? Collections.enumeration(Collections.singletonList(trace))
+                    : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            final List<String> names = new ArrayList<>(Collections.list(super.getHeaderNames()));
+            names.add(header);
+            return Collections.enumeration(names);
+        }
+    }
+
+}
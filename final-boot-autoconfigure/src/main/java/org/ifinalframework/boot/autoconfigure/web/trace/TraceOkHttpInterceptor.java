@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.trace;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import org.springframework.lang.NonNull;
+
+import org.slf4j.MDC;
+
+import java.io.IOException;
+
+/**
+ * Propagate the trace id of the {@link MDC} to the outgoing {@link okhttp3.OkHttpClient} requests, by the trace header
+ * and the W3C {@code traceparent} header.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class TraceOkHttpInterceptor implements Interceptor {
+
+    private final TraceProperties properties;
+
+    public TraceOkHttpInterceptor(TraceProperties properties) {
+        this.properties = properties;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        final Request request = chain.request();
+        final String trace = MDC.get(properties.getName());
+        if (trace == null || request.header(properties.getHeader()) != null) {
+            return chain.proceed(request);
+        }
+
+        final Request.Builder builder = request.newBuilder().header(properties.getHeader(), trace);
+        if (properties.isTraceparent() && TraceParent.isTraceId(trace) && request.header(TraceParent.HEADER) == null) {
+            builder.header(TraceParent.HEADER, TraceParent.format(trace));
+        }
+        return chain.proceed(builder.build());
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.trace;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Parse and format the W3C {@code traceparent} header, which is {@code version-traceid-parentid-flags}, e.g.
+ * {@code 00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01}.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see <a href="https://www.w3.org/TR/trace-context/#traceparent-header">traceparent header</a>
+ * @since 1.6.0
+ */
+public final class TraceParent {
+
+    public static final String HEADER = "traceparent";
+
+    private static final int LENGTH = 55;
+
+    private TraceParent() {
+    }
+
+    /**
+     * @param traceparent the header value
+     * @return the trace id, or {@code null} if the header is absent or invalid
+     */
+    @Nullable
+    public static String parseTraceId(@Nullable String traceparent) {
+        if (traceparent == null || traceparent.length() < LENGTH
+                || traceparent.charAt(2) != '-' || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return null;
+        }
+        // the version ff is invalid, and a future version may append fields after the flags
+        if (!isHex(traceparent, 0, 2) || traceparent.startsWith("ff")
+                || (traceparent.length() > LENGTH && traceparent.charAt(LENGTH) != '-')) {
+            return null;
+        }
+        if (!isHex(traceparent, 36, 52) || traceparent.startsWith("0000000000000000", 36)
+                || !isHex(traceparent, 53, 55)) {
+            return null;
+        }
+        final String traceId = traceparent.substring(3, 35);
+        return isTraceId(traceId) ? traceId : null;
+    }
+
+    /**
+     * format a sampled {@code traceparent} of the trace id with a new parent id.
+     *
+     * @param traceId a valid {@link #isTraceId(String) trace id}
+     * @return the header value
+     */
+    public static String format(String traceId) {
+        return "00-" + traceId + "-" + RandomTraceIdGenerator.spanId() + "-01";
+    }
+
+    /**
+     * @return {@code true} if the value is 32 lower hex chars and not all zero
+     */
+    public static boolean isTraceId(@Nullable String value) {
+        if (value == null || value.length() != 32 || !isHex(value, 0, 32)) {
+            return false;
+        }
+        for (int i = 0; i < 32; i++) {
+            if (value.charAt(i) != '0') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isHex(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            final char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
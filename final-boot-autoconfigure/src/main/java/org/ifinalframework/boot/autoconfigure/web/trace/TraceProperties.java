@@ -17,11 +17,13 @@ package org.ifinalframework.boot.autoconfigure.web.trace;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 import lombok.Data;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 @Data
@@ -38,4 +40,42 @@ public class TraceProperties {
 
     private String header = TRACE;
 
+    /**
+     * accept the trace id of the W3C {@code traceparent} header, and propagate it by the header.
+     */
+    private boolean traceparent = true;
+
+    private Metrics metrics = new Metrics();
+
+    /**
+     * the latency histograms per handler method.
+     *
+     * @see HandlerLatencyMetrics
+     */
+    @Data
+    public static class Metrics {
+
+        private boolean enabled = false;
+
+        /**
+         * the interval of the exported snapshots.
+         */
+        private Duration interval = Duration.ofMinutes(1);
+
+        private double[] percentiles = {0.5, 0.9, 0.99};
+
+        /**
+         * the highest latency to track, a higher one is recorded as it.
+         */
+        private Duration highestTrackableValue = Duration.ofMinutes(1);
+
+        private int significantDigits = 2;
+
+        /**
+         * the count of the recorders per handler method, rounded down to a power of two.
+         */
+        private int stripes = 1;
+
+    }
+
 }
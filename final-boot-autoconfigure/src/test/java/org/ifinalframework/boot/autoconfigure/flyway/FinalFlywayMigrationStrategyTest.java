@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.flyway;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+
+import javax.sql.DataSource;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * FinalFlywayMigrationStrategyTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class FinalFlywayMigrationStrategyTest {
+
+    @Test
+    void migratePrimary() {
+        final Flyway flyway = Mockito.mock(Flyway.class);
+
+        new FinalFlywayMigrationStrategy(Collections.emptyMap(), 4).migrate(flyway);
+
+        verify(flyway).migrate();
+    }
+
+    @Test
+    void reportFailedShards() {
+        final Map<String, Callable<DataSource>> shards = new LinkedHashMap<>();
+        for (int i = 0; i < 3; i++) {
+            final String name = "ds" + i;
+            shards.put(name, () -> {
+                throw new SQLException("connect " + name + " error");
+            });
+        }
+
+        final FlywayException exception = assertThrows(FlywayException.class,
+                () -> new FinalFlywayMigrationStrategy(shards, 2).migrate(Mockito.mock(Flyway.class)));
+
+        assertTrue(exception.getMessage().contains("[ds0, ds1, ds2]"));
+        assertEquals(3, exception.getSuppressed().length);
+    }
+
+}
@@ -15,8 +15,11 @@
 
 package org.ifinalframework.boot.autoconfigure.okhttp;
 
+import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,14 +28,29 @@ import static org.junit.jupiter.api.Assertions.*;
  * OkHttpAutoConfigurationTest.
  *
  * @author iimik
- * @version 1.4.0
+ * @version 1.6.0
  * @since 1.4.0
  */
 class OkHttpAutoConfigurationTest {
 
     @Test
     void okHttpClient() {
-        OkHttpClient okHttpClient = new OkHttpAutoConfiguration().okHttpClient(new OkHttpProperties());
+        OkHttpClient okHttpClient = new OkHttpAutoConfiguration().okHttpClient(new OkHttpProperties(),
+                new StaticListableBeanFactory().getBeanProvider(OkHttpClientBuilderCustomizer.class));
         assertEquals(okHttpClient.connectTimeoutMillis(), 10000);
+        assertTrue(okHttpClient.interceptors().isEmpty());
+    }
+
+    @Test
+    void customizer() {
+        Interceptor interceptor = chain -> chain.proceed(chain.request());
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("interceptor", interceptor);
+        beanFactory.addBean("customizer", (OkHttpClientBuilderCustomizer) builder -> builder.addInterceptor(interceptor));
+
+        OkHttpClient okHttpClient = new OkHttpAutoConfiguration().okHttpClient(new OkHttpProperties(),
+                beanFactory.getBeanProvider(OkHttpClientBuilderCustomizer.class));
+        // the interceptor beans are only added by the customizers
+        assertEquals(1, okHttpClient.interceptors().size());
     }
 }
\ No newline at end of file
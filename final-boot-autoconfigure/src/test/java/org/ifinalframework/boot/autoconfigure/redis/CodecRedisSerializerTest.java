@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.redis;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CodecRedisSerializerTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class CodecRedisSerializerTest {
+
+    private static final RedisSerializer<Object> JSON = RedisSerializer.json();
+
+    private static final Map<String, String> VALUE = new HashMap<>();
+
+    static {
+        VALUE.put("name", String.join("", Collections.nCopies(100, "final")));
+    }
+
+    @Test
+    void jsonWithoutHeader() {
+        CodecRedisSerializer<Object> serializer = new CodecRedisSerializer<>(JSON, CodecRedisSerializer.Codec.JSON,
+                CodecRedisSerializer.Compression.NONE, 1024);
+
+        assertArrayEquals(JSON.serialize(VALUE), serializer.serialize(VALUE));
+    }
+
+    @Test
+    void compression() {
+        for (CodecRedisSerializer.Compression compression : new CodecRedisSerializer.Compression[]{
+                CodecRedisSerializer.Compression.LZ4, CodecRedisSerializer.Compression.ZSTD}) {
+            CodecRedisSerializer<Object> serializer = new CodecRedisSerializer<>(JSON, CodecRedisSerializer.Codec.JSON,
+                    compression, 16);
+
+            byte[] bytes = serializer.serialize(VALUE);
+
+            assertTrue(bytes.length < JSON.serialize(VALUE).length);
+            assertEquals(VALUE, serializer.deserialize(bytes));
+        }
+    }
+
+    @Test
+    void legacyValue() {
+        CodecRedisSerializer<Object> serializer = new CodecRedisSerializer<>(JSON, CodecRedisSerializer.Codec.JSON,
+                CodecRedisSerializer.Compression.LZ4, 16);
+
+        assertEquals(VALUE, serializer.deserialize(JSON.serialize(VALUE)));
+        assertNull(serializer.deserialize(null));
+    }
+
+    @Test
+    void maxDecompressedLength() {
+        CodecRedisSerializer<Object> serializer = new CodecRedisSerializer<>(JSON, CodecRedisSerializer.Codec.JSON,
+                CodecRedisSerializer.Compression.ZSTD, 16, 64);
+
+        byte[] bytes = serializer.serialize(VALUE);
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+
+        // a corrupt header claiming 2 GB
+        bytes[3] = 0x7F;
+        assertThrows(SerializationException.class, () -> new CodecRedisSerializer<>(JSON,
+                CodecRedisSerializer.Codec.JSON, CodecRedisSerializer.Compression.ZSTD, 16).deserialize(bytes));
+    }
+
+}
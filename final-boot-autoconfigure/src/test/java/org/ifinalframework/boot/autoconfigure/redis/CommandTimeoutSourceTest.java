@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.redis;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CommandTimeoutSourceTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class CommandTimeoutSourceTest {
+
+    @Test
+    void getTimeout() {
+        CommandTimeoutSource source = new CommandTimeoutSource(Collections.singletonMap("keys", Duration.ofSeconds(5)),
+                Duration.ofMillis(200));
+
+        assertEquals(Duration.ofSeconds(5).toNanos(), source.getTimeout(new Command<>(CommandType.KEYS, null)));
+        assertEquals(Duration.ofMillis(200).toNanos(), source.getTimeout(new Command<>(CommandType.GET, null)));
+    }
+
+    @Test
+    void defaultTimeout() {
+        CommandTimeoutSource source = new CommandTimeoutSource(Collections.singletonMap("keys", Duration.ofSeconds(5)),
+                null);
+
+        // an unlisted command still times out
+        assertEquals(RedisURI.DEFAULT_TIMEOUT_DURATION.toNanos(), source.getTimeout(new Command<>(CommandType.GET, null)));
+        assertEquals(Duration.ofSeconds(5).toNanos(), source.getTimeout(new Command<>(CommandType.KEYS, null)));
+    }
+
+}
@@ -15,10 +15,19 @@
 
 package org.ifinalframework.boot.autoconfigure.redis;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 
 import org.ifinalframework.data.redis.ObjectStringJsonRedisTemplate;
 
+import java.time.Duration;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -27,7 +36,7 @@ import org.mockito.Mockito;
  * RedisAutoConfigurationTest.
  *
  * @author iimik
- * @version 1.4.2
+ * @version 1.6.0
  * @since 1.4.2
  */
 class RedisAutoConfigurationTest {
@@ -35,7 +44,27 @@ class RedisAutoConfigurationTest {
     @Test
     void objectStringJsonRedisTemplate() {
         ObjectStringJsonRedisTemplate objectStringJsonRedisTemplate = new RedisAutoConfiguration()
-                .objectStringJsonRedisTemplate(Mockito.mock(RedisConnectionFactory.class));
+                .objectStringJsonRedisTemplate(Mockito.mock(RedisConnectionFactory.class), new FinalRedisProperties());
         Assertions.assertNotNull(objectStringJsonRedisTemplate);
     }
+
+    @Test
+    void keepClientOptionsWithCommandTimeouts() {
+        FinalRedisProperties properties = new FinalRedisProperties();
+        properties.getLettuce().getCommandTimeouts().put("keys", Duration.ofSeconds(5));
+        SocketOptions socketOptions = SocketOptions.builder().connectTimeout(Duration.ofSeconds(3)).build();
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder builder = LettuceClientConfiguration.builder()
+                .clientOptions(ClusterClientOptions.builder().autoReconnect(false).socketOptions(socketOptions).build());
+
+        ObjectProvider<RedisProperties> redisProperties = new StaticListableBeanFactory().getBeanProvider(RedisProperties.class);
+        new RedisAutoConfiguration.LettuceConfiguration()
+                .finalLettuceClientConfigurationBuilderCustomizer(properties, redisProperties)
+                .customize(builder);
+
+        ClientOptions options = builder.build().getClientOptions().orElseThrow();
+        Assertions.assertInstanceOf(ClusterClientOptions.class, options);
+        Assertions.assertFalse(options.isAutoReconnect());
+        Assertions.assertEquals(Duration.ofSeconds(3), options.getSocketOptions().getConnectTimeout());
+        Assertions.assertInstanceOf(CommandTimeoutSource.class, options.getTimeoutOptions().getSource());
+    }
 }
\ No newline at end of file
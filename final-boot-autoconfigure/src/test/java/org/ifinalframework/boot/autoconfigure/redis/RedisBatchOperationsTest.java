@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.redis;
+
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * RedisBatchOperationsTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class RedisBatchOperationsTest {
+
+    private RedisOperations<String, String> operations;
+
+    private ValueOperations<String, String> valueOperations;
+
+    private RedisBatchOperations<String, String> batchOperations;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        operations = Mockito.mock(RedisOperations.class);
+        valueOperations = Mockito.mock(ValueOperations.class);
+        when(operations.opsForValue()).thenReturn(valueOperations);
+        batchOperations = new RedisBatchOperations<>(operations, Duration.ofSeconds(10), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchOperations.close();
+    }
+
+    @Test
+    void multiGet() {
+        when(valueOperations.multiGet(Arrays.asList("a", "b"))).thenReturn(Arrays.asList("1", "2"));
+
+        CompletableFuture<String> a = batchOperations.get("a");
+        CompletableFuture<String> b = batchOperations.get("b");
+
+        assertEquals("1", a.join());
+        assertEquals("2", b.join());
+        verify(valueOperations, never()).get(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void pipeline() {
+        when(operations.executePipelined(any(SessionCallback.class))).thenReturn(Arrays.<Object>asList(true, "1"));
+
+        CompletableFuture<Void> set = batchOperations.set("a", "1");
+        CompletableFuture<String> get = batchOperations.get("a");
+
+        assertNull(set.join());
+        assertEquals("1", get.join());
+    }
+
+    @Test
+    void failure() {
+        when(valueOperations.multiGet(any())).thenThrow(new IllegalStateException("down"));
+
+        CompletableFuture<String> a = batchOperations.get("a");
+        CompletableFuture<String> b = batchOperations.get("b");
+
+        assertThrows(Exception.class, a::join);
+        assertThrows(Exception.class, b::join);
+    }
+
+    @Test
+    void closeWhileSubmitting() throws Exception {
+        when(valueOperations.multiGet(any()))
+                .thenAnswer(invocation -> Collections.nCopies(((List<?>) invocation.getArgument(0)).size(), "1"));
+
+        final List<CompletableFuture<String>> futures = new CopyOnWriteArrayList<>();
+        final ExecutorService submitters = Executors.newFixedThreadPool(4);
+        final CountDownLatch started = new CountDownLatch(4);
+        for (int i = 0; i < 4; i++) {
+            submitters.execute(() -> {
+                started.countDown();
+                try {
+                    while (true) {
+                        futures.add(batchOperations.get("a"));
+                    }
+                } catch (IllegalStateException e) {
+                    // closed
+                }
+            });
+        }
+        started.await();
+        batchOperations.close();
+        submitters.shutdown();
+        assertTrue(submitters.awaitTermination(5, TimeUnit.SECONDS));
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertFalse(futures.isEmpty());
+        futures.forEach(future -> assertEquals("1", future.join()));
+        assertThrows(IllegalStateException.class, () -> batchOperations.get("a"));
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.redis;
+
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * RedisLuaScriptTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class RedisLuaScriptTest {
+
+    private final RedisLuaScript script = new RedisLuaScript("return 1", ReturnType.INTEGER);
+
+    private RedisOperations<?, ?> operations;
+
+    private RedisScriptingCommands commands;
+
+    @BeforeEach
+    void setup() {
+        operations = Mockito.mock(RedisOperations.class);
+        commands = Mockito.mock(RedisScriptingCommands.class);
+        RedisConnection connection = Mockito.mock(RedisConnection.class);
+        when(connection.scriptingCommands()).thenReturn(commands);
+        when(operations.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+    }
+
+    @Test
+    void sha1() {
+        assertEquals("e0e1f9fabfc9d4800c877a703b823ac0578ff8db", script.getSha1());
+    }
+
+    @Test
+    void evalSha() {
+        when(commands.evalSha(eq(script.getSha1()), eq(ReturnType.INTEGER), eq(1), any(byte[][].class))).thenReturn(1L);
+
+        Long result = script.execute(operations, new String[]{"key"}, "arg");
+
+        assertEquals(1L, result);
+        verify(commands, never()).eval(any(byte[].class), any(), anyInt(), any(byte[][].class));
+    }
+
+    @Test
+    void noScript() {
+        when(commands.evalSha(anyString(), any(), anyInt(), any(byte[][].class)))
+                .thenThrow(new RedisSystemException("NOSCRIPT No matching script", null));
+        when(commands.eval(any(byte[].class), eq(ReturnType.INTEGER), eq(1), any(byte[][].class))).thenReturn(1L);
+
+        Long result = script.execute(operations, new String[]{"key"}, "arg");
+
+        assertEquals(1L, result);
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.redis;
+
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * RedisNearCacheTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class RedisNearCacheTest {
+
+    /**
+     * the stand-in redis values.
+     */
+    private final Map<String, String> values = new HashMap<>();
+
+    private RedisOperations<String, String> operations;
+
+    private RedisNearCache<String, String> nearCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        operations = Mockito.mock(RedisOperations.class);
+        ValueOperations<String, String> valueOperations = Mockito.mock(ValueOperations.class);
+        when(operations.opsForValue()).thenReturn(valueOperations);
+        when(operations.getKeySerializer()).thenReturn((RedisSerializer) RedisSerializer.string());
+        when(valueOperations.get(any())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> values.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(valueOperations).set(any(), any());
+
+        nearCache = RedisNearCache.of(operations, new FinalRedisProperties.NearCache());
+    }
+
+    @Test
+    void get() {
+        values.put("key", "value");
+
+        assertEquals("value", nearCache.get("key"));
+        assertEquals("value", nearCache.get("key"));
+        assertNull(nearCache.get("missing"));
+
+        verify(operations.opsForValue(), times(1)).get("key");
+        assertEquals(1, nearCache.getStats().hitCount());
+        assertEquals(2, nearCache.getStats().missCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void set() {
+        values.put("key", "value");
+        assertEquals("value", nearCache.get("key"));
+
+        nearCache.set("key", "value2");
+
+        assertEquals("value2", nearCache.get("key"));
+        verify(operations).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    void onMessage() {
+        values.put("key", "value");
+        assertEquals("value", nearCache.get("key"));
+
+        values.put("key", "value2");
+        nearCache.onMessage(new DefaultMessage(nearCache.getChannel().getBytes(StandardCharsets.UTF_8),
+                "key".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertEquals("value2", nearCache.get("key"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onMessageOfNotStringKey() {
+        // a json key serializer reads 1L back as the Integer 1, the raw key bytes are the same
+        final Map<Object, String> longValues = new HashMap<>();
+        final RedisOperations<Object, String> longOperations = Mockito.mock(RedisOperations.class);
+        final ValueOperations<Object, String> valueOperations = Mockito.mock(ValueOperations.class);
+        when(longOperations.opsForValue()).thenReturn(valueOperations);
+        when(longOperations.getKeySerializer()).thenReturn((RedisSerializer) new Jackson2JsonRedisSerializer<>(Object.class));
+        when(valueOperations.get(any())).thenAnswer(invocation -> longValues.get(invocation.getArgument(0)));
+        final RedisNearCache<Object, String> longNearCache = RedisNearCache.of(longOperations, new FinalRedisProperties.NearCache());
+
+        longValues.put(1L, "value");
+        assertEquals("value", longNearCache.get(1L));
+
+        longValues.put(1L, "value2");
+        final byte[] published = new Jackson2JsonRedisSerializer<>(Object.class).serialize(1L);
+        longNearCache.onMessage(new DefaultMessage(longNearCache.getChannel().getBytes(StandardCharsets.UTF_8), published), null);
+
+        assertEquals("value2", longNearCache.get(1L));
+    }
+
+}
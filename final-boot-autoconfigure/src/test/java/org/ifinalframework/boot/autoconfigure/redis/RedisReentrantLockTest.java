@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.redis;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Run the lock scripts on a Redis server.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisReentrantLockTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private static StringRedisTemplate template;
+
+    private static RedisReentrantLock lock;
+
+    @BeforeAll
+    static void setup() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        template = new StringRedisTemplate(connectionFactory);
+        lock = new RedisReentrantLock(template, "test:lock:", Duration.ofSeconds(30));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void reentrant() throws Exception {
+        assertTrue(lock.tryLock("reentrant"));
+        assertTrue(lock.tryLock("reentrant"));
+        assertFalse(otherThread(() -> lock.tryLock("reentrant")));
+
+        lock.unlock("reentrant");
+        assertFalse(otherThread(() -> lock.tryLock("reentrant")));
+
+        lock.unlock("reentrant");
+        assertFalse(template.hasKey("test:lock:reentrant"));
+        assertThrows(IllegalMonitorStateException.class, () -> lock.unlock("reentrant"));
+    }
+
+    @Test
+    void lease() throws Exception {
+        assertTrue(lock.tryLock("lease", Duration.ofMillis(200)));
+
+        assertTrue(otherThread(() -> lock.tryLock("lease", Duration.ofSeconds(5), Duration.ofSeconds(1))));
+        assertThrows(IllegalMonitorStateException.class, () -> lock.unlock("lease"));
+    }
+
+    @Test
+    void scriptFlushed() {
+        template.execute((RedisCallback<Void>) connection -> {
+            connection.scriptingCommands().scriptFlush();
+            return null;
+        });
+
+        assertTrue(lock.tryLock("flushed"));
+        lock.unlock("flushed");
+    }
+
+    private static boolean otherThread(Acquire acquire) throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return acquire.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    @FunctionalInterface
+    private interface Acquire {
+
+        boolean acquire() throws InterruptedException;
+    }
+
+}
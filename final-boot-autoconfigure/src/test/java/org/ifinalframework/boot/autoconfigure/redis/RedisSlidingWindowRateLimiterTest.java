@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.redis;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Run the rate limiter script on a Redis server.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisSlidingWindowRateLimiterTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private static RedisSlidingWindowRateLimiter rateLimiter;
+
+    @BeforeAll
+    static void setup() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        rateLimiter = new RedisSlidingWindowRateLimiter(new StringRedisTemplate(connectionFactory), "test:rate-limiter:");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void tryAcquire() throws InterruptedException {
+        final Duration window = Duration.ofMillis(500);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(rateLimiter.tryAcquire("single", 3, window));
+        }
+        assertFalse(rateLimiter.tryAcquire("single", 3, window));
+
+        // the permits slide out of the window
+        Thread.sleep(window.toMillis() + 100);
+        assertTrue(rateLimiter.tryAcquire("single", 3, window));
+    }
+
+    @Test
+    void tryAcquirePermits() {
+        final Duration window = Duration.ofMinutes(1);
+        assertTrue(rateLimiter.tryAcquire("permits", 2, 3, window));
+        // none is acquired without enough permits
+        assertFalse(rateLimiter.tryAcquire("permits", 2, 3, window));
+        assertTrue(rateLimiter.tryAcquire("permits", 1, 3, window));
+        assertFalse(rateLimiter.tryAcquire("permits", 1, 3, window));
+    }
+
+}
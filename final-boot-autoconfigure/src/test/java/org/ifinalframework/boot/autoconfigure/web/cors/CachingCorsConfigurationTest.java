@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.cors;
+
+import org.springframework.web.cors.CorsConfiguration;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CachingCorsConfigurationTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class CachingCorsConfigurationTest {
+
+    @Test
+    void checkOrigin() {
+        final CachingCorsConfiguration configuration = new CachingCorsConfiguration(1);
+        configuration.setAllowedOriginPatterns(Collections.singletonList("https://*.example.com"));
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals("https://a.example.com", configuration.checkOrigin("https://a.example.com"));
+            assertNull(configuration.checkOrigin("https://example.org"));
+        }
+
+        configuration.addAllowedOriginPattern("https://*.example.org");
+        assertEquals("https://a.example.org", configuration.checkOrigin("https://a.example.org"));
+    }
+
+    @Test
+    void corsConfiguration() {
+        final CorsProperties properties = new CorsProperties();
+        properties.setAllowedOrigins(new String[]{"https://example.com"});
+        properties.setMaxAge(600L);
+
+        final CorsConfiguration configuration = CorsWebMvcConfigurerAutoConfiguration.corsConfiguration(properties.asPolicy(),
+                properties.getOriginCacheSize());
+
+        assertInstanceOf(CachingCorsConfiguration.class, configuration);
+        assertEquals("https://example.com", configuration.checkOrigin("https://example.com"));
+        assertNull(configuration.checkOrigin("https://example.org"));
+        assertEquals(600L, configuration.getMaxAge());
+    }
+
+}
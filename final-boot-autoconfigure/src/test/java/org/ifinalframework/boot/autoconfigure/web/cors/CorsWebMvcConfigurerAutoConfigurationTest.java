@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2022 the original author or authors.
+ * Copyright 2020-2024 the original author or authors.
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
  * You may obtain a copy of the License at
@@ -15,52 +15,213 @@
 
 package org.ifinalframework.boot.autoconfigure.web.cors;
 
-import org.springframework.web.servlet.config.annotation.CorsRegistration;
-import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Mockito;
-import org.mockito.junit.jupiter.MockitoExtension;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * CorsWebMvcConfigurerAutoConfigurationTest.
  *
  * @author iimik
- * @version 1.4.2
+ * @version 1.6.0
  * @since 1.4.2
  */
-@ExtendWith(MockitoExtension.class)
 class CorsWebMvcConfigurerAutoConfigurationTest {
 
     @Test
-    void addCorsMappings() {
+    void corsConfigurationSource() {
         CorsProperties corsProperties = new CorsProperties();
         corsProperties.setMapping("/**");
         corsProperties.setAllowedHeaders(new String[]{"header"});
         corsProperties.setAllowedMethods(new String[]{"GET"});
         corsProperties.setAllowedOrigins(new String[]{"Origin"});
         CorsWebMvcConfigurerAutoConfiguration configuration = new CorsWebMvcConfigurerAutoConfiguration(corsProperties);
-        CorsRegistry registry = Mockito.mock(CorsRegistry.class);
 
-        CorsRegistration corsRegistration = Mockito.mock(CorsRegistration.class);
-        Mockito.when(registry.addMapping(Mockito.anyString())).thenReturn(corsRegistration);
+        CorsConfiguration corsConfiguration = configuration.corsConfigurationSource()
+                .getCorsConfiguration(new MockHttpServletRequest("GET", "/users"));
+
+        Assertions.assertNotNull(corsConfiguration);
+        Assertions.assertEquals(Collections.singletonList("header"), corsConfiguration.getAllowedHeaders());
+        Assertions.assertEquals(Collections.singletonList("GET"), corsConfiguration.getAllowedMethods());
+        Assertions.assertEquals(Collections.singletonList("Origin"), corsConfiguration.getAllowedOrigins());
+    }
+
+    @Test
+    void noPermitDefaultValues() {
+        CorsProperties corsProperties = new CorsProperties();
+        corsProperties.setMapping("/**");
+        CorsWebMvcConfigurerAutoConfiguration configuration = new CorsWebMvcConfigurerAutoConfiguration(corsProperties);
+
+        CorsConfiguration corsConfiguration = configuration.corsConfigurationSource()
+                .getCorsConfiguration(new MockHttpServletRequest("GET", "/users"));
+
+        Assertions.assertNotNull(corsConfiguration);
+        Assertions.assertNull(corsConfiguration.getAllowedOrigins());
+        Assertions.assertNull(corsConfiguration.checkOrigin("https://example.com"));
+    }
+
+    @Test
+    void policies() {
+        CorsProperties corsProperties = new CorsProperties();
+        corsProperties.setMapping("/**");
+        corsProperties.setAllowedOrigins(new String[]{"https://example.com"});
+        CorsProperties.Policy api = new CorsProperties.Policy();
+        api.setMapping("/api/**");
+        api.setAllowedOrigins(new String[]{"https://api.example.com"});
+        corsProperties.getPolicies().put("api", api);
+        CorsWebMvcConfigurerAutoConfiguration configuration = new CorsWebMvcConfigurerAutoConfiguration(corsProperties);
+        PathPatternCorsConfigurationSource source = configuration.corsConfigurationSource();
 
-        configuration.addCorsMappings(registry);
+        // the named policies are before the top level one, which would match every path
+        Assertions.assertEquals(Collections.singletonList("https://api.example.com"),
+                source.getCorsConfiguration(new MockHttpServletRequest("GET", "/api/users")).getAllowedOrigins());
+        Assertions.assertEquals(Collections.singletonList("https://example.com"),
+                source.getCorsConfiguration(new MockHttpServletRequest("GET", "/users")).getAllowedOrigins());
+    }
 
-        ArgumentCaptor<String> argumentCaptor = ArgumentCaptor.forClass(String.class);
-        Mockito.verify(corsRegistration).allowedHeaders(argumentCaptor.capture());
-        Assertions.assertEquals(argumentCaptor.getValue(), corsProperties.getAllowedHeaders()[0]);
+    @Test
+    void sameCorsConfiguration() throws Exception {
+        CorsProperties corsProperties = new CorsProperties();
+        corsProperties.setMapping("/**");
+        corsProperties.setAllowedOrigins(new String[]{"https://example.com"});
+        CorsWebMvcConfigurerAutoConfiguration configuration = new CorsWebMvcConfigurerAutoConfiguration(corsProperties);
+        PathPatternCorsConfigurationSource source = configuration.corsConfigurationSource();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean(CorsWebMvcConfigurerAutoConfiguration.CORS_CONFIGURATION_SOURCE, source);
 
-        ArgumentCaptor<String> argumentCaptorMethod = ArgumentCaptor.forClass(String.class);
-        Mockito.verify(corsRegistration).allowedMethods(argumentCaptorMethod.capture());
-        Assertions.assertEquals(argumentCaptorMethod.getValue(), corsProperties.getAllowedMethods()[0]);
+        // mvc
+        CapturingHandlerMapping handlerMapping = new CapturingHandlerMapping();
+        postProcess(beanFactory, handlerMapping, "requestMappingHandlerMapping");
+        Assertions.assertNotNull(handle(handlerMapping, corsRequest()));
 
-        ArgumentCaptor<String> argumentCaptorOrigin = ArgumentCaptor.forClass(String.class);
-        Mockito.verify(corsRegistration).allowedOrigins(argumentCaptorOrigin.capture());
-        Assertions.assertEquals(argumentCaptorOrigin.getValue(), corsProperties.getAllowedOrigins()[0]);
+        // security, the cors configurer of the filter chain builds a CorsFilter of the shared source
+        AtomicReference<CorsConfiguration> security = new AtomicReference<>();
+        CorsFilter corsFilter = new CorsFilter(
+                beanFactory.getBean(CorsWebMvcConfigurerAutoConfiguration.CORS_CONFIGURATION_SOURCE,
+                        PathPatternCorsConfigurationSource.class));
+        corsFilter.setCorsProcessor((config, request, response) -> {
+            security.set(config);
+            return true;
+        });
+        corsFilter.doFilter(corsRequest(), new MockHttpServletResponse(), (request, response) -> {
+        });
 
+        Assertions.assertNotNull(security.get());
+        Assertions.assertSame(security.get(), handlerMapping.config.get());
     }
-}
\ No newline at end of file
+
+    @Test
+    void keepRegisteredCorsConfigurations() throws Exception {
+        CorsProperties corsProperties = new CorsProperties();
+        corsProperties.setMapping("/**");
+        corsProperties.setAllowedOrigins(new String[]{"https://example.com"});
+        CorsWebMvcConfigurerAutoConfiguration configuration = new CorsWebMvcConfigurerAutoConfiguration(corsProperties);
+        PathPatternCorsConfigurationSource source = configuration.corsConfigurationSource();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean(CorsWebMvcConfigurerAutoConfiguration.CORS_CONFIGURATION_SOURCE, source);
+
+        // registered by the CorsRegistry of another configurer when the mapping is created
+        CorsConfiguration other = new CorsConfiguration();
+        other.addAllowedOrigin("https://other.example.com");
+        CapturingHandlerMapping handlerMapping = new CapturingHandlerMapping();
+        handlerMapping.setCorsConfigurations(Map.of("/other/**", other));
+        postProcess(beanFactory, handlerMapping, "requestMappingHandlerMapping");
+
+        Assertions.assertNotNull(handle(handlerMapping, corsRequest("/other/users")));
+        Assertions.assertEquals(Collections.singletonList("https://other.example.com"),
+                handlerMapping.config.get().getAllowedOrigins());
+
+        Assertions.assertNotNull(handle(handlerMapping, corsRequest()));
+        Assertions.assertSame(source.getCorsConfiguration(corsRequest()), handlerMapping.config.get());
+    }
+
+    @Test
+    void otherHandlerMapping() {
+        CorsProperties corsProperties = new CorsProperties();
+        corsProperties.setMapping("/**");
+        CorsWebMvcConfigurerAutoConfiguration configuration = new CorsWebMvcConfigurerAutoConfiguration(corsProperties);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean(CorsWebMvcConfigurerAutoConfiguration.CORS_CONFIGURATION_SOURCE,
+                configuration.corsConfigurationSource());
+
+        RequestMappingHandlerMapping handlerMapping = new RequestMappingHandlerMapping();
+        CorsWebMvcConfigurerAutoConfiguration.corsConfigurationSourcePostProcessor(
+                        beanFactory.getBeanProvider(PathPatternCorsConfigurationSource.class))
+                .postProcessBeforeInitialization(handlerMapping, "controllerEndpointHandlerMapping");
+
+        Assertions.assertNull(handlerMapping.getCorsConfigurationSource());
+    }
+
+    private static void postProcess(StaticListableBeanFactory beanFactory, CapturingHandlerMapping handlerMapping,
+                                    String beanName) throws Exception {
+        CorsWebMvcConfigurerAutoConfiguration.corsConfigurationSourcePostProcessor(
+                        beanFactory.getBeanProvider(PathPatternCorsConfigurationSource.class))
+                .postProcessBeforeInitialization(handlerMapping, beanName);
+        StaticWebApplicationContext applicationContext = new StaticWebApplicationContext();
+        applicationContext.setServletContext(new MockServletContext());
+        applicationContext.refresh();
+        handlerMapping.setApplicationContext(applicationContext);
+        handlerMapping.afterPropertiesSet();
+        for (String path : new String[]{"/users", "/other/users"}) {
+            handlerMapping.registerMapping(RequestMappingInfo.paths(path).methods(RequestMethod.GET)
+                            .options(handlerMapping.getBuilderConfiguration()).build(),
+                    new UserController(), UserController.class.getMethod("users"));
+        }
+    }
+
+    private static HandlerExecutionChain handle(CapturingHandlerMapping handlerMapping,
+                                                MockHttpServletRequest request) throws Exception {
+        ServletRequestPathUtils.parseAndCache(request);
+        return handlerMapping.getHandler(request);
+    }
+
+    private static MockHttpServletRequest corsRequest() {
+        return corsRequest("/users");
+    }
+
+    private static MockHttpServletRequest corsRequest(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader("Origin", "https://example.com");
+        return request;
+    }
+
+    static class CapturingHandlerMapping extends RequestMappingHandlerMapping {
+
+        private final AtomicReference<CorsConfiguration> config = new AtomicReference<>();
+
+        @Override
+        protected HandlerExecutionChain getCorsHandlerExecutionChain(HttpServletRequest request,
+                                                                     HandlerExecutionChain chain,
+                                                                     @Nullable CorsConfiguration config) {
+            this.config.set(config);
+            return super.getCorsHandlerExecutionChain(request, chain, config);
+        }
+    }
+
+    public static class UserController {
+
+        public String users() {
+            return "users";
+        }
+    }
+
+}
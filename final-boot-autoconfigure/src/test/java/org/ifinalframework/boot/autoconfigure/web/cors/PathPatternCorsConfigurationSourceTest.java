@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.cors;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.cors.CorsConfiguration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PathPatternCorsConfigurationSourceTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class PathPatternCorsConfigurationSourceTest {
+
+    private final CorsConfiguration all = new CorsConfiguration();
+
+    private final CorsConfiguration api = new CorsConfiguration();
+
+    private final CorsConfiguration open = new CorsConfiguration();
+
+    private final CorsConfiguration admin = new CorsConfiguration();
+
+    @Test
+    void getCorsConfiguration() {
+        final PathPatternCorsConfigurationSource source = new PathPatternCorsConfigurationSource();
+        assertTrue(source.isEmpty());
+        source.registerCorsConfiguration("/api/public/**", open);
+        source.registerCorsConfiguration("/api/{module}/admin/**", admin);
+        source.registerCorsConfiguration("/api/**", api);
+        source.registerCorsConfiguration("/**", all);
+        assertFalse(source.isEmpty());
+
+        assertSame(open, source.getCorsConfiguration(new MockHttpServletRequest("GET", "/api/public/users")));
+        assertSame(admin, source.getCorsConfiguration(new MockHttpServletRequest("GET", "/api/user/admin/roles")));
+        assertSame(api, source.getCorsConfiguration(new MockHttpServletRequest("GET", "/api/users")));
+        assertSame(all, source.getCorsConfiguration(new MockHttpServletRequest("GET", "/index.html")));
+
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/api/public/users");
+        request.setContextPath("/app");
+        assertSame(open, source.getCorsConfiguration(request));
+    }
+
+    @Test
+    void firstRegistered() {
+        final PathPatternCorsConfigurationSource source = new PathPatternCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", all);
+        source.registerCorsConfiguration("/api/public/**", open);
+
+        assertSame(all, source.getCorsConfiguration(new MockHttpServletRequest("GET", "/api/public/users")));
+    }
+
+    @Test
+    void noMatch() {
+        final PathPatternCorsConfigurationSource source = new PathPatternCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/public/**", open);
+
+        assertNull(source.getCorsConfiguration(new MockHttpServletRequest("GET", "/api/users")));
+    }
+
+}
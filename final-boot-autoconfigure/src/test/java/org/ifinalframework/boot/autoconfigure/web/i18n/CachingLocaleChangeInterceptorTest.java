@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.i18n;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CachingLocaleChangeInterceptorTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class CachingLocaleChangeInterceptorTest {
+
+    @Test
+    void parseLocaleValue() {
+        final CachingLocaleChangeInterceptor interceptor = new CachingLocaleChangeInterceptor(2);
+
+        final Locale locale = interceptor.parseLocaleValue("zh_CN");
+        assertEquals(Locale.SIMPLIFIED_CHINESE, locale);
+        assertSame(locale, interceptor.parseLocaleValue("zh_CN"));
+
+        assertEquals(Locale.US, interceptor.parseLocaleValue("en-US"));
+        assertEquals(Locale.JAPAN, interceptor.parseLocaleValue("ja_JP"));
+        assertEquals(Locale.SIMPLIFIED_CHINESE, interceptor.parseLocaleValue("zh_CN"));
+    }
+
+    @Test
+    void disabled() {
+        assertEquals(Locale.US, new CachingLocaleChangeInterceptor(0).parseLocaleValue("en_US"));
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.i18n;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.i18n.CookieLocaleResolver;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CachingMixLocaleResolverTest.
+ *
+ * <p>The default locale is changed after a resolution, so a cached locale is told apart from a resolved one.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class CachingMixLocaleResolverTest {
+
+    @Test
+    void cache() {
+        final CachingMixLocaleResolver resolver = resolver(16);
+        assertEquals(Locale.CHINA, resolver.resolveLocale(new MockHttpServletRequest()));
+
+        resolver.setDefaultLocale(Locale.US);
+        assertEquals(Locale.CHINA, resolver.resolveLocale(new MockHttpServletRequest()));
+        assertNotEquals(Locale.CHINA, resolver.resolveLocale(request("fr")));
+    }
+
+    @Test
+    void disabled() {
+        final CachingMixLocaleResolver resolver = resolver(0);
+        assertEquals(Locale.CHINA, resolver.resolveLocale(new MockHttpServletRequest()));
+
+        resolver.setDefaultLocale(Locale.US);
+        assertEquals(Locale.US, resolver.resolveLocale(new MockHttpServletRequest()));
+    }
+
+    @Test
+    void localeChanged() {
+        final CachingMixLocaleResolver resolver = resolver(16);
+
+        // set by the LocaleChangeInterceptor of this request
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(CookieLocaleResolver.LOCALE_REQUEST_ATTRIBUTE_NAME, Locale.JAPAN);
+        assertEquals(Locale.JAPAN, resolver.resolveLocale(request));
+
+        assertEquals(Locale.CHINA, resolver.resolveLocale(new MockHttpServletRequest()));
+        final MockHttpServletRequest changed = new MockHttpServletRequest();
+        changed.setAttribute(CookieLocaleResolver.LOCALE_REQUEST_ATTRIBUTE_NAME, Locale.JAPAN);
+        assertEquals(Locale.JAPAN, resolver.resolveLocale(changed));
+    }
+
+    private static CachingMixLocaleResolver resolver(int cacheSize) {
+        final CachingMixLocaleResolver resolver = new CachingMixLocaleResolver(cacheSize);
+        resolver.setDefaultLocale(Locale.CHINA);
+        return resolver;
+    }
+
+    private static MockHttpServletRequest request(String acceptLanguage) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Language", acceptLanguage);
+        return request;
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.i18n;
+
+import org.springframework.context.MessageSource;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PreloadedMessageSourceTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class PreloadedMessageSourceTest {
+
+    private ResourceBundleMessageSource parent;
+
+    private MessageSource messageSource;
+
+    @BeforeEach
+    void setup() {
+        parent = new ResourceBundleMessageSource();
+        parent.setBasename("i18n/messages");
+        parent.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        parent.setFallbackToSystemLocale(false);
+        messageSource = new PreloadedMessageSource(parent, parent.getBasenameSet(), List.of(Locale.ENGLISH, Locale.FRENCH),
+                parent.getDefaultEncoding(), getClass().getClassLoader());
+    }
+
+    @Test
+    void getMessage() {
+        for (Locale locale : List.of(Locale.ENGLISH, Locale.FRENCH, Locale.GERMAN)) {
+            for (String code : Set.of("greeting", "welcome", "error.required", "error.size")) {
+                final Object[] args = {"name", 1, 10};
+                assertEquals(parent.getMessage(code, null, locale), messageSource.getMessage(code, null, locale));
+                assertEquals(parent.getMessage(code, args, locale), messageSource.getMessage(code, args, locale));
+            }
+        }
+
+        assertEquals("Bienvenue, iimik !", messageSource.getMessage("welcome", new Object[]{"iimik"}, Locale.FRENCH));
+        // fallback to the base bundle
+        assertEquals("a must be between 1 and 2.",
+                messageSource.getMessage("error.size", new Object[]{"a", 1, 2}, Locale.FRENCH));
+    }
+
+    @Test
+    void getMissingMessage() {
+        assertEquals("default", messageSource.getMessage("missing", null, "default", Locale.ENGLISH));
+        assertThrows(NoSuchMessageException.class, () -> messageSource.getMessage("missing", null, Locale.ENGLISH));
+    }
+
+    @Test
+    void getResolvableMessage() {
+        final DefaultMessageSourceResolvable field = new DefaultMessageSourceResolvable("field.name");
+        final DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(
+                new String[]{"missing", "error.required"}, new Object[]{field});
+
+        assertEquals("nom est obligatoire.", messageSource.getMessage(resolvable, Locale.FRENCH));
+        assertEquals(parent.getMessage(resolvable, Locale.ENGLISH), messageSource.getMessage(resolvable, Locale.ENGLISH));
+    }
+
+}
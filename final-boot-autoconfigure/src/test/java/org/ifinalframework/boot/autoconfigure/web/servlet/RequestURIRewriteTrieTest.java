@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.servlet;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RequestURIRewriteTrieTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class RequestURIRewriteTrieTest {
+
+    @Test
+    void rewrite() {
+        final Map<String, String> rules = new LinkedHashMap<>();
+        rules.put("/legacy", "/api");
+        rules.put("/legacy/v1", "/api/v2");
+        rules.put("/old", "");
+
+        for (int cacheSize : new int[]{0, 2}) {
+            final RequestURIRewriteTrie trie = new RequestURIRewriteTrie(rules, cacheSize);
+            for (int i = 0; i < 2; i++) {
+                assertEquals("/api/users", trie.rewrite("/legacy/users"));
+                assertEquals("/api/v2/users", trie.rewrite("/legacy/v1/users"));
+                assertEquals("/api/v", trie.rewrite("/legacy/v"));
+                assertEquals("/users", trie.rewrite("/old/users"));
+                assertNull(trie.rewrite("/api/users"));
+                assertNull(trie.rewrite("/leg"));
+            }
+        }
+    }
+
+    @Test
+    void segmentBoundary() {
+        final Map<String, String> rules = new LinkedHashMap<>();
+        rules.put("/api", "/v1");
+        rules.put("/api-v2", "/v2");
+        rules.put("/static/", "/assets/");
+
+        final RequestURIRewriteTrie trie = new RequestURIRewriteTrie(rules, 0);
+        assertEquals("/v1", trie.rewrite("/api"));
+        assertEquals("/v1/users", trie.rewrite("/api/users"));
+        assertEquals("/v2/users", trie.rewrite("/api-v2/users"));
+        assertNull(trie.rewrite("/apix/users"));
+        assertNull(trie.rewrite("/api-v3/users"));
+        assertEquals("/assets/app.js", trie.rewrite("/static/app.js"));
+        assertNull(trie.rewrite("/static"));
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.trace;
+
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HandlerLatencyMetricsTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class HandlerLatencyMetricsTest {
+
+    @Test
+    void record() throws Exception {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final HandlerMethod handler = new HandlerMethod(this, HandlerLatencyMetricsTest.class.getDeclaredMethod("record"));
+
+        try (HandlerLatencyMetrics metrics = new HandlerLatencyMetrics(registry, new TraceProperties.Metrics())) {
+            for (int i = 1; i <= 100; i++) {
+                metrics.record(handler, TimeUnit.MILLISECONDS.toNanos(i));
+            }
+            assertEquals(0, registry.get("final.trace.latency.count").gauge().value());
+
+            metrics.snapshot();
+
+            assertEquals(100, registry.get("final.trace.latency.count")
+                    .tag("handler", "HandlerLatencyMetricsTest#record").gauge().value());
+            assertEquals(99, registry.get("final.trace.latency").tag("quantile", "0.99")
+                    .timeGauge().value(TimeUnit.MILLISECONDS), 1);
+            assertEquals(100, registry.get("final.trace.latency.max").timeGauge().value(TimeUnit.MILLISECONDS), 1);
+        }
+    }
+
+    @Test
+    void stripes() throws Exception {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final HandlerMethod handler = new HandlerMethod(this, HandlerLatencyMetricsTest.class.getDeclaredMethod("stripes"));
+        final TraceProperties.Metrics properties = new TraceProperties.Metrics();
+        properties.setStripes(4);
+
+        try (HandlerLatencyMetrics metrics = new HandlerLatencyMetrics(registry, properties)) {
+            final Thread[] threads = new Thread[8];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = new Thread(() -> {
+                    for (int j = 1; j <= 100; j++) {
+                        metrics.record(handler, TimeUnit.MILLISECONDS.toNanos(j));
+                    }
+                });
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            metrics.snapshot();
+
+            assertEquals(800, registry.get("final.trace.latency.count").gauge().value());
+            assertEquals(100, registry.get("final.trace.latency.max").timeGauge().value(TimeUnit.MILLISECONDS), 1);
+        }
+    }
+
+    @Test
+    void invalidInterval() {
+        final TraceProperties.Metrics properties = new TraceProperties.Metrics();
+        properties.setInterval(Duration.ZERO);
+
+        assertThrows(IllegalArgumentException.class, () -> new HandlerLatencyMetrics(new SimpleMeterRegistry(), properties));
+    }
+
+}
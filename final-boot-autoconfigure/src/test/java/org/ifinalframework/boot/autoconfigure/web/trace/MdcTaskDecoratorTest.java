@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.trace;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MdcTaskDecoratorTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class MdcTaskDecoratorTest {
+
+    private final MdcTaskDecorator decorator = new MdcTaskDecorator();
+
+    @AfterEach
+    void clear() {
+        MDC.clear();
+    }
+
+    @Test
+    void propagate() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> MDC.put("trace", "previous")).get();
+
+            MDC.put("trace", "current");
+            final CompletableFuture<String> inside = new CompletableFuture<>();
+            executor.submit(decorator.decorate(() -> inside.complete(MDC.get("trace")))).get();
+
+            assertEquals("current", inside.get(1, TimeUnit.SECONDS));
+            assertEquals("previous", executor.submit(() -> MDC.get("trace")).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void clearWithoutPrevious() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            MDC.put("trace", "current");
+            executor.submit(decorator.decorate(() -> {
+            })).get();
+
+            assertNull(executor.submit(() -> MDC.get("trace")).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.trace;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RandomTraceIdGeneratorTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class RandomTraceIdGeneratorTest {
+
+    @Test
+    void generate() {
+        final RandomTraceIdGenerator generator = new RandomTraceIdGenerator();
+        final String trace = generator.generate();
+
+        assertTrue(TraceParent.isTraceId(trace));
+        assertNotEquals(trace, generator.generate());
+        assertEquals(16, RandomTraceIdGenerator.spanId().length());
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.trace;
+
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import org.ifinalframework.web.servlet.interceptor.TraceHandlerInterceptor;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TraceHandlerInterceptorAutoConfigurationTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class TraceHandlerInterceptorAutoConfigurationTest {
+
+    /**
+     * the trace configuration is listed first, the auto-configuration order puts it after the meter registry.
+     */
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TraceHandlerInterceptorAutoConfiguration.class,
+                    MetricsAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class,
+                    CompositeMeterRegistryAutoConfiguration.class))
+            .withBean(TraceHandlerInterceptor.class, () -> Mockito.mock(TraceHandlerInterceptor.class));
+
+    @Test
+    void latencyInterceptor() {
+        runner.withPropertyValues("final.trace.metrics.enabled=true").run(context -> {
+            assertNotNull(context.getBean(HandlerLatencyMetrics.class));
+            assertTrue(interceptors(context).stream().anyMatch(LatencyHandlerInterceptor.class::isInstance));
+        });
+    }
+
+    @Test
+    void metricsDisabled() {
+        runner.run(context -> {
+            assertTrue(context.getBeansOfType(HandlerLatencyMetrics.class).isEmpty());
+            assertTrue(interceptors(context).stream().noneMatch(LatencyHandlerInterceptor.class::isInstance));
+        });
+    }
+
+    @Test
+    void invalidInterval() {
+        runner.withPropertyValues("final.trace.metrics.enabled=true", "final.trace.metrics.interval=0s")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+    }
+
+    private static List<Object> interceptors(ApplicationContext context) {
+        final CapturingInterceptorRegistry registry = new CapturingInterceptorRegistry();
+        context.getBeansOfType(WebMvcConfigurer.class).values().forEach(configurer -> configurer.addInterceptors(registry));
+        return registry.getInterceptors();
+    }
+
+    private static class CapturingInterceptorRegistry extends InterceptorRegistry {
+
+        @Override
+        protected List<Object> getInterceptors() {
+            return super.getInterceptors();
+        }
+    }
+
+}
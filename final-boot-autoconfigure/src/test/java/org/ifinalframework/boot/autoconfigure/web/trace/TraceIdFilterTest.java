@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.trace;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TraceIdFilterTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class TraceIdFilterTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private final AtomicReference<String> header = new AtomicReference<>();
+
+    private final AtomicReference<String> mdc = new AtomicReference<>();
+
+    private final FilterChain chain = (request, response) -> {
+        header.set(((HttpServletRequest) request).getHeader("trace"));
+        mdc.set(MDC.get("trace"));
+    };
+
+    private final TraceIdFilter filter = new TraceIdFilter(new TraceProperties(), () -> "generated");
+
+    @Test
+    void traceparent() throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(TraceParent.HEADER, "00-" + TRACE_ID + "-00f067aa0ba902b7-01");
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertEquals(TRACE_ID, header.get());
+        assertEquals(TRACE_ID, mdc.get());
+        assertNull(MDC.get("trace"));
+    }
+
+    @Test
+    void generate() throws Exception {
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+
+        assertEquals("generated", header.get());
+        assertEquals("generated", mdc.get());
+        assertNull(MDC.get("trace"));
+    }
+
+    @Test
+    void traceparentDisabled() throws Exception {
+        final TraceProperties properties = new TraceProperties();
+        properties.setTraceparent(false);
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(TraceParent.HEADER, "00-" + TRACE_ID + "-00f067aa0ba902b7-01");
+        new TraceIdFilter(properties, () -> "generated").doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertEquals("generated", header.get());
+    }
+
+    @Test
+    void existingHeader() throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("trace", "existing");
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertEquals("existing", header.get());
+        assertEquals("existing", mdc.get());
+        assertNull(MDC.get("trace"));
+    }
+
+    @Test
+    void existingParam() throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("trace", "existing");
+        request.addHeader(TraceParent.HEADER, "00-" + TRACE_ID + "-00f067aa0ba902b7-01");
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // the param is left to the interceptor, no generated header overrides it
+        assertNull(header.get());
+        assertEquals("existing", mdc.get());
+        assertNull(MDC.get("trace"));
+    }
+
+}
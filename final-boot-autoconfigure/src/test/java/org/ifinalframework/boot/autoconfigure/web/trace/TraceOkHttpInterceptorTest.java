@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.trace;
+
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * TraceOkHttpInterceptorTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class TraceOkHttpInterceptorTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private final TraceOkHttpInterceptor interceptor = new TraceOkHttpInterceptor(new TraceProperties());
+
+    @AfterEach
+    void clear() {
+        MDC.clear();
+    }
+
+    @Test
+    void withoutTrace() throws IOException {
+        final Request request = new Request.Builder().url("http://localhost/").build();
+        assertSame(request, intercept(request));
+    }
+
+    @Test
+    void trace() throws IOException {
+        MDC.put("trace", TRACE_ID);
+        final Request request = intercept(new Request.Builder().url("http://localhost/").build());
+
+        assertEquals(TRACE_ID, request.header("trace"));
+        assertEquals("00-" + TRACE_ID + "-", request.header(TraceParent.HEADER).substring(0, 36));
+    }
+
+    @Test
+    void notTraceId() throws IOException {
+        MDC.put("trace", "custom");
+        final Request request = intercept(new Request.Builder().url("http://localhost/").build());
+
+        assertEquals("custom", request.header("trace"));
+        assertNull(request.header(TraceParent.HEADER));
+    }
+
+    @Test
+    void existingHeader() throws IOException {
+        MDC.put("trace", TRACE_ID);
+        final Request request = new Request.Builder().url("http://localhost/").header("trace", "existing").build();
+
+        assertSame(request, intercept(request));
+    }
+
+    private Request intercept(Request request) throws IOException {
+        final Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(any())).thenAnswer(invocation -> new Response.Builder()
+                .request(invocation.getArgument(0))
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .build());
+
+        interceptor.intercept(chain);
+
+        final ArgumentCaptor<Request> captor = ArgumentCaptor.forClass(Request.class);
+        verify(chain).proceed(captor.capture());
+        return captor.getValue();
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.autoconfigure.web.trace;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TraceParentTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class TraceParentTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @Test
+    void parseTraceId() {
+        assertEquals(TRACE_ID, TraceParent.parseTraceId("00-" + TRACE_ID + "-00f067aa0ba902b7-01"));
+        assertEquals(TRACE_ID, TraceParent.parseTraceId("01-" + TRACE_ID + "-00f067aa0ba902b7-01-future"));
+
+        assertNull(TraceParent.parseTraceId(null));
+        assertNull(TraceParent.parseTraceId("ff-" + TRACE_ID + "-00f067aa0ba902b7-01"));
+        assertNull(TraceParent.parseTraceId("00-00000000000000000000000000000000-00f067aa0ba902b7-01"));
+        assertNull(TraceParent.parseTraceId("00-" + TRACE_ID + "-0000000000000000-01"));
+        assertNull(TraceParent.parseTraceId("00-" + TRACE_ID.toUpperCase() + "-00f067aa0ba902b7-01"));
+        assertNull(TraceParent.parseTraceId("00-" + TRACE_ID + "-00f067aa0ba902b7-01x"));
+    }
+
+    @Test
+    void format() {
+        final String traceparent = TraceParent.format(TRACE_ID);
+
+        assertEquals(55, traceparent.length());
+        assertEquals(TRACE_ID, TraceParent.parseTraceId(traceparent));
+        assertTrue(traceparent.endsWith("-01"));
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.env;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.io.Resource;
+
+import java.util.Set;
+
+import lombok.Getter;
+
+/**
+ * Published by {@link PropertySourceWatcher} when the properties of a watched {@link Resource} changed.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Getter
+public class PropertySourceChangedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = -2478391726093148612L;
+
+    /**
+     * the added, modified and removed property keys.
+     */
+    private final Set<String> keys;
+
+    public PropertySourceChangedEvent(Resource resource, Set<String> keys) {
+        super(resource);
+        this.keys = keys;
+    }
+
+    public Resource getResource() {
+        return (Resource) getSource();
+    }
+}
@@ -21,14 +21,27 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.core.io.support.SpringFactoriesLoader;
-import org.springframework.util.StringUtils;
+import org.springframework.lang.Nullable;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -43,12 +56,67 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class PropertySourceLoaders {
 
-    private final List<PropertySourceLoader> propertySourceLoaders;
+    /**
+     * parsed property sources, keyed by resource url.
+     */
+    private static final Map<String, CachedPropertySources> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * lower case file extension to the first {@link PropertySourceLoader} which supports it.
+     */
+    private final Map<String, PropertySourceLoader> propertySourceLoaders;
     private final ResourceLoader resourceLoader;
 
+    /**
+     * resolve locations and parse resources concurrently, the result order is the same as the serial mode.
+     *
+     * @since 1.6.0
+     */
+    @Setter
+    private boolean parallel = false;
+
+    /**
+     * the executor used in {@link #parallel} mode.
+     *
+     * @since 1.6.0
+     */
+    @Setter
+    private Executor executor = ForkJoinPool.commonPool();
+
+    /**
+     * reuse the parsed property sources of a resource while its url and last-modified time are unchanged.
+     *
+     * @since 1.6.0
+     */
+    @Setter
+    private boolean cache = false;
+
+    /**
+     * watch the loaded file system resources and reload the modified one.
+     *
+     * @since 1.6.0
+     */
+    @Setter
+    @Nullable
+    private PropertySourceWatcher watcher;
+
     public PropertySourceLoaders(ResourceLoader resourceLoader) {
         this.resourceLoader = resourceLoader;
-        this.propertySourceLoaders = SpringFactoriesLoader.loadFactories(PropertySourceLoader.class, getClass().getClassLoader());
+        this.propertySourceLoaders = new LinkedHashMap<>();
+        for (PropertySourceLoader loader : SpringFactoriesLoader.loadFactories(PropertySourceLoader.class, getClass().getClassLoader())) {
+            for (String fileExtension : loader.getFileExtensions()) {
+                this.propertySourceLoaders.putIfAbsent(fileExtension.toLowerCase(Locale.ROOT), loader);
+            }
+        }
+    }
+
+    /**
+     * clear the parsed property sources cache.
+     *
+     * @since 1.6.0
+     */
+    public static void clearCache() {
+        CACHE.clear();
     }
 
     /**
@@ -69,45 +137,158 @@ public class PropertySourceLoaders {
      * @param locations property source locations.
      * @return property sources
      * @throws IOException io exception
-     * @see #load(String)
+     * @see #load(String...)
      */
     public List<PropertySource<?>> load(Collection<String> locations) throws IOException {
+        if (parallel) {
+            return loadParallel(locations);
+        }
+
         List<PropertySource<?>> propertySources = new LinkedList<>();
         for (String location : locations) {
-            propertySources.addAll(load(location));
+            for (Resource resource : resolve(location)) {
+                propertySources.addAll(load(resource));
+            }
         }
         return propertySources;
     }
 
-    private List<PropertySource<?>> load(String location) throws IOException {
+    private List<PropertySource<?>> loadParallel(Collection<String> locations) throws IOException {
+        final List<CompletableFuture<List<PropertySource<?>>>> futures = new ArrayList<>(locations.size());
+        for (String location : locations) {
+            futures.add(loadAsync(location));
+        }
 
         List<PropertySource<?>> propertySources = new LinkedList<>();
+        for (CompletableFuture<List<PropertySource<?>>> future : futures) {
+            propertySources.addAll(join(future));
+        }
+        return propertySources;
+    }
 
-        if (resourceLoader instanceof ResourcePatternResolver) {
-            Resource[] resources = ((ResourcePatternResolver) resourceLoader).getResources(location);
+    private CompletableFuture<List<PropertySource<?>>> loadAsync(String location) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return resolve(location);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor).thenCompose(resources -> loadAsync(Arrays.asList(resources)));
+    }
+
+    private CompletableFuture<List<PropertySource<?>>> loadAsync(List<Resource> resources) {
+        final List<CompletableFuture<List<PropertySource<?>>>> futures = resources.stream()
+                .map(resource -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return load(resource);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, executor))
+                .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignore -> futures.stream()
+                        .flatMap(future -> future.join().stream())
+                        .collect(Collectors.toList()));
+    }
 
-            for (Resource resource : resources) {
-                load(resource, propertySources);
+    private static <T> T join(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
+            throw e;
+        }
+    }
 
-        } else {
-            Resource resource = resourceLoader.getResource(location);
-            load(resource, propertySources);
+    private Resource[] resolve(String location) throws IOException {
+        if (resourceLoader instanceof ResourcePatternResolver) {
+            return ((ResourcePatternResolver) resourceLoader).getResources(location);
         }
+        return new Resource[]{resourceLoader.getResource(location)};
+    }
 
+    private List<PropertySource<?>> load(Resource resource) throws IOException {
+        final List<PropertySource<?>> propertySources = loadCached(resource);
+        if (watcher != null) {
+            watcher.watch(this, resource, propertySources);
+        }
         return propertySources;
     }
 
-    private void load(Resource resource, List<PropertySource<?>> propertySources) throws IOException {
-        for (PropertySourceLoader loader : propertySourceLoaders) {
-            for (String fileExtension : loader.getFileExtensions()) {
-                if (StringUtils.endsWithIgnoreCase(resource.getFilename(), fileExtension)) {
-                    List<PropertySource<?>> sources = loader.load(resource.getFilename(), resource);
-                    propertySources.addAll(sources);
-                }
-            }
+    private List<PropertySource<?>> loadCached(Resource resource) throws IOException {
+        if (!cache) {
+            return doLoad(resource);
         }
+
+        final String url;
+        final long lastModified;
+        try {
+            url = resource.getURL().toString();
+            lastModified = resource.lastModified();
+        } catch (IOException e) {
+            // not a url or file based resource
+            return doLoad(resource);
+        }
+
+        final CachedPropertySources cached = CACHE.get(url);
+        if (cached != null && cached.lastModified == lastModified) {
+            return cached.propertySources;
+        }
+
+        final List<PropertySource<?>> propertySources = Collections.unmodifiableList(doLoad(resource));
+        CACHE.put(url, new CachedPropertySources(lastModified, propertySources));
+        return propertySources;
+    }
+
+    /**
+     * parse the resource with the {@link PropertySourceLoader} of its file extension.
+     */
+    List<PropertySource<?>> doLoad(Resource resource) throws IOException {
+        final String filename = resource.getFilename();
+        final PropertySourceLoader loader = getPropertySourceLoader(filename);
+        if (loader == null) {
+            return Collections.emptyList();
+        }
+        return loader.load(filename, resource);
+    }
+
+    /**
+     * find the {@link PropertySourceLoader} of the file extension.
+     *
+     * @param filename the resource filename.
+     * @return the loader which supports the file extension, {@code null} if none.
+     * @since 1.6.0
+     */
+    @Nullable
+    PropertySourceLoader getPropertySourceLoader(@Nullable String filename) {
+        if (filename == null) {
+            return null;
+        }
+        final int index = filename.lastIndexOf('.');
+        if (index < 0) {
+            return null;
+        }
+        return propertySourceLoaders.get(filename.substring(index + 1).toLowerCase(Locale.ROOT));
     }
 
+    private static final class CachedPropertySources {
+
+        private final long lastModified;
+
+        private final List<PropertySource<?>> propertySources;
+
+        private CachedPropertySources(long lastModified, List<PropertySource<?>> propertySources) {
+            this.lastModified = lastModified;
+            this.propertySources = propertySources;
+        }
+    }
 
 }
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.env;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Watch the file system resources loaded by {@link PropertySourceLoaders} with a {@link WatchService}.
+ *
+ * <p>When a watched file is modified, only that resource is parsed again, its property sources are replaced in the
+ * {@link MutablePropertySources}, and a {@link PropertySourceChangedEvent} with the changed keys is published.</p>
+ *
+ * <pre class="code">
+ *      PropertySourceWatcher watcher = new PropertySourceWatcher(environment.getPropertySources(), context);
+ *      loaders.setWatcher(watcher);
+ *      loaders.load(locations).forEach(environment.getPropertySources()::addLast);
+ *      watcher.start();
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see PropertySourceLoaders#setWatcher(PropertySourceWatcher)
+ * @since 1.6.0
+ */
+@Slf4j
+public class PropertySourceWatcher implements Closeable {
+
+    private final MutablePropertySources propertySources;
+
+    @Nullable
+    private final ApplicationEventPublisher publisher;
+
+    private final Map<Path, WatchedResource> resources = new ConcurrentHashMap<>();
+
+    private final Set<Path> directories = ConcurrentHashMap.newKeySet();
+
+    private WatchService watchService;
+
+    private Thread thread;
+
+    public PropertySourceWatcher(MutablePropertySources propertySources, @Nullable ApplicationEventPublisher publisher) {
+        this.propertySources = propertySources;
+        this.publisher = publisher;
+    }
+
+    /**
+     * start watching the registered resources.
+     *
+     * @throws IOException io exception
+     */
+    public synchronized void start() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        watchService = FileSystems.getDefault().newWatchService();
+        for (Path directory : directories) {
+            register(directory);
+        }
+        final WatchService service = watchService;
+        thread = new Thread(() -> run(service), "property-source-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService == null) {
+            return;
+        }
+        thread.interrupt();
+        watchService.close();
+        watchService = null;
+    }
+
+    synchronized void watch(PropertySourceLoaders loaders, Resource resource, List<PropertySource<?>> loaded) throws IOException {
+        if (!resource.isFile()) {
+            return;
+        }
+        final Path file = resource.getFile().toPath().toAbsolutePath().normalize();
+        resources.put(file, new WatchedResource(loaders, resource, loaded));
+
+        final Path directory = file.getParent();
+        if (directories.add(directory) && watchService != null) {
+            register(directory);
+        }
+    }
+
+    private void register(Path directory) throws IOException {
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        logger.debug("watch property source directory: {}", directory);
+    }
+
+    private void run(WatchService service) {
+        while (!Thread.currentThread().isInterrupted()) {
+            final WatchKey key;
+            try {
+                key = service.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+
+            final Path directory = (Path) key.watchable();
+            // an editor may fire several events for one save
+            final Set<Path> files = new LinkedHashSet<>();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    resources.keySet().stream().filter(file -> directory.equals(file.getParent())).forEach(files::add);
+                } else {
+                    files.add(directory.resolve((Path) event.context()));
+                }
+            }
+            key.reset();
+
+            for (Path file : files) {
+                final WatchedResource watched = resources.get(file);
+                if (watched != null) {
+                    reload(watched);
+                }
+            }
+        }
+    }
+
+    private void reload(WatchedResource watched) {
+        final List<PropertySource<?>> reloaded;
+        try {
+            reloaded = watched.loaders.doLoad(watched.resource);
+        } catch (Exception e) {
+            logger.warn("reload property source {} error, keep the previous one: {}",
+                    watched.resource.getDescription(), e.getMessage());
+            return;
+        }
+
+        final Set<String> keys = diff(watched.loaded, reloaded);
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        replace(watched.loaded, reloaded);
+        watched.loaded = reloaded;
+
+        logger.info("reload property source {}, changed keys: {}", watched.resource.getDescription(), keys);
+        if (publisher != null) {
+            publisher.publishEvent(new PropertySourceChangedEvent(watched.resource, keys));
+        }
+    }
+
+    /**
+     * replace the property sources of one resource, a name is only replaced while it still refers to the instance
+     * loaded from this resource, so the resources of the same file name do not replace each other.
+     */
+    private void replace(List<PropertySource<?>> loaded, List<PropertySource<?>> reloaded) {
+        final Set<String> names = new LinkedHashSet<>();
+        for (PropertySource<?> propertySource : loaded) {
+            if (propertySources.get(propertySource.getName()) == propertySource) {
+                names.add(propertySource.getName());
+            }
+        }
+        for (PropertySource<?> propertySource : reloaded) {
+            if (names.remove(propertySource.getName())) {
+                propertySources.replace(propertySource.getName(), propertySource);
+            } else if (!propertySources.contains(propertySource.getName())) {
+                propertySources.addLast(propertySource);
+            }
+        }
+        // the documents removed from the resource
+        names.forEach(propertySources::remove);
+    }
+
+    private static Set<String> diff(List<PropertySource<?>> before, List<PropertySource<?>> after) {
+        final Map<String, Object> previous = flatten(before);
+        final Map<String, Object> current = flatten(after);
+
+        final Set<String> keys = new LinkedHashSet<>();
+        for (Map.Entry<String, Object> entry : current.entrySet()) {
+            if (!Objects.equals(entry.getValue(), previous.get(entry.getKey()))) {
+                keys.add(entry.getKey());
+            }
+        }
+        for (String key : previous.keySet()) {
+            if (!current.containsKey(key)) {
+                keys.add(key);
+            }
+        }
+        return Collections.unmodifiableSet(keys);
+    }
+
+    private static Map<String, Object> flatten(List<PropertySource<?>> propertySources) {
+        final Map<String, Object> properties = new HashMap<>();
+        for (PropertySource<?> propertySource : propertySources) {
+            if (propertySource instanceof EnumerablePropertySource) {
+                for (String name : ((EnumerablePropertySource<?>) propertySource).getPropertyNames()) {
+                    properties.putIfAbsent(name, propertySource.getProperty(name));
+                }
+            }
+        }
+        return properties;
+    }
+
+    private static final class WatchedResource {
+
+        private final PropertySourceLoaders loaders;
+
+        private final Resource resource;
+
+        private volatile List<PropertySource<?>> loaded;
+
+        private WatchedResource(PropertySourceLoaders loaders, Resource resource, List<PropertySource<?>> loaded) {
+            this.loaders = loaders;
+            this.resource = resource;
+            this.loaded = loaded;
+        }
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2023 the original author or authors.
+ * Copyright 2020-2024 the original author or authors.
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
  * You may obtain a copy of the License at
@@ -15,27 +15,56 @@
 
 package org.ifinalframework.boot.flyway;
 
+import org.flywaydb.core.api.MigrationState;
 import org.flywaydb.core.api.callback.Callback;
 import org.flywaydb.core.api.callback.Context;
 import org.flywaydb.core.api.callback.Event;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.pattern.ValidatePattern;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 
 import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * CleanFlywaySchemaHistoryCallback.
+ * Clean the flyway schema history after migrated, so that the next validation is fast.
+ *
+ * <p>The cleanup runs under a database advisory lock ({@code GET_LOCK} of MySQL, {@code pg_try_advisory_lock} of
+ * PostgreSQL), so only one of the instances booting together does it, the others skip. Other databases are cleaned
+ * without a lock.</p>
+ *
+ * <p>When {@link #setRetain(int) retain} is positive, the versioned rows before the last {@code retain} versioned rows
+ * are deleted instead of running the {@link #setCleanSql(String) clean sql}. Flyway resolves the deleted migrations as
+ * {@link MigrationState#IGNORED ignored}, so it requires {@code ignoreMigrationPatterns} to match {@code *:ignored}
+ * and {@code outOfOrder} to be disabled, otherwise the validation fails or the deleted migrations are applied again.
+ * The rows are kept if the configuration is not compatible.</p>
  *
  * @author iimik
- * @version 1.5.0
+ * @version 1.6.0
  * @since 1.5.0
  */
 @Slf4j
 public class CleanFlywaySchemaHistoryCallback implements Callback {
 
+    private static final String LOCK_NAME = "final_flyway_schema_history_clean";
+
     @Setter
     private String cleanSql = "TRUNCATE TABLE flyway_schema_history;";
 
+    /**
+     * the last versioned rows to retain, {@code 0} means running the {@link #cleanSql}.
+     *
+     * @see #isRetainable(Configuration)
+     */
+    @Setter
+    private int retain = 0;
+
     @Override
     public boolean supports(Event event, Context context) {
         return Event.AFTER_MIGRATE_OPERATION_FINISH == event;
@@ -49,12 +78,152 @@ public class CleanFlywaySchemaHistoryCallback implements Callback {
     @Override
     @SneakyThrows
     public void handle(Event event, Context context) {
-        boolean execute = context.getConnection().createStatement().execute(cleanSql);
-        logger.info(cleanSql);
+        if (retain > 0 && !isRetainable(context.getConfiguration())) {
+            logger.warn("skip cleaning flyway schema history, retaining rows requires ignoreMigrationPatterns "
+                    + "matching *:ignored and outOfOrder disabled.");
+            return;
+        }
+
+        final Connection connection = context.getConnection();
+        final AdvisoryLock lock = AdvisoryLock.of(connection.getMetaData().getDatabaseProductName());
+        if (!lock.tryLock(connection)) {
+            logger.info("skip cleaning flyway schema history as another instance is cleaning.");
+            return;
+        }
+
+        try {
+            if (retain > 0) {
+                retain(connection, table(context.getConfiguration()));
+            } else {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(cleanSql);
+                }
+                logger.info(cleanSql);
+            }
+        } finally {
+            lock.unlock(connection);
+        }
+    }
+
+    private void retain(Connection connection, String table) throws SQLException {
+        // the rank of the last retained versioned row, so the highest applied version is always kept
+        int rank = 0;
+        int rows = 0;
+        try (Statement statement = connection.createStatement()) {
+            statement.setMaxRows(retain);
+            try (ResultSet resultSet = statement.executeQuery("SELECT installed_rank FROM " + table
+                    + " WHERE version IS NOT NULL ORDER BY installed_rank DESC")) {
+                while (resultSet.next()) {
+                    rank = resultSet.getInt(1);
+                    rows++;
+                }
+            }
+        }
+        if (rows < retain) {
+            return;
+        }
+
+        // the repeatable migrations would be applied again without their rows
+        try (PreparedStatement statement = connection.prepareStatement(
+                "DELETE FROM " + table + " WHERE installed_rank < ? AND version IS NOT NULL")) {
+            statement.setInt(1, rank);
+            logger.info("cleaned {} rows of {}, retained the last {} versioned rows.",
+                    statement.executeUpdate(), table, retain);
+        }
+    }
+
+    /**
+     * the deleted versioned migrations are resolved as {@link MigrationState#IGNORED}, they must be ignored by the
+     * validation and must not be applied out of order.
+     */
+    private static boolean isRetainable(Configuration configuration) {
+        if (configuration.isOutOfOrder()) {
+            return false;
+        }
+        for (ValidatePattern pattern : configuration.getIgnoreMigrationPatterns()) {
+            if (pattern.matchesMigration(true, MigrationState.IGNORED)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String table(Configuration configuration) {
+        String schema = configuration.getDefaultSchema();
+        if (schema == null && configuration.getSchemas().length > 0) {
+            schema = configuration.getSchemas()[0];
+        }
+        return schema == null ? configuration.getTable() : schema + "." + configuration.getTable();
     }
 
     @Override
     public String getCallbackName() {
         return "Clean Flyway Schema History.";
     }
+
+    /**
+     * The session level advisory lock of the database, which is released when the session closed.
+     */
+    private enum AdvisoryLock {
+        MYSQL("SELECT GET_LOCK(?, 0)", "SELECT RELEASE_LOCK(?)") {
+            @Override
+            void bind(PreparedStatement statement) throws SQLException {
+                statement.setString(1, LOCK_NAME);
+            }
+        },
+        POSTGRESQL("SELECT pg_try_advisory_lock(?)", "SELECT pg_advisory_unlock(?)") {
+            @Override
+            void bind(PreparedStatement statement) throws SQLException {
+                statement.setLong(1, LOCK_NAME.hashCode());
+            }
+        },
+        NONE(null, null);
+
+        private final String lockSql;
+
+        private final String unlockSql;
+
+        AdvisoryLock(String lockSql, String unlockSql) {
+            this.lockSql = lockSql;
+            this.unlockSql = unlockSql;
+        }
+
+        static AdvisoryLock of(String databaseProductName) {
+            switch (databaseProductName) {
+                case "MySQL":
+                case "MariaDB":
+                    return MYSQL;
+                case "PostgreSQL":
+                    return POSTGRESQL;
+                default:
+                    return NONE;
+            }
+        }
+
+        void bind(PreparedStatement statement) throws SQLException {
+        }
+
+        boolean tryLock(Connection connection) throws SQLException {
+            if (lockSql == null) {
+                return true;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(lockSql)) {
+                bind(statement);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    // GET_LOCK returns 1, pg_try_advisory_lock returns true
+                    return resultSet.next() && resultSet.getBoolean(1);
+                }
+            }
+        }
+
+        void unlock(Connection connection) throws SQLException {
+            if (unlockSql == null) {
+                return;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(unlockSql)) {
+                bind(statement);
+                statement.execute();
+            }
+        }
+    }
 }
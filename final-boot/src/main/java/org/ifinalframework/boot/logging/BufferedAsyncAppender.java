@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * An {@link AsyncAppender} for the extension file appenders.
+ *
+ * <ul>
+ *     <li>events at or below {@link #discardingLevel} are discarded when the queue is nearly full;</li>
+ *     <li>the attached {@link OutputStreamAppender}s are flushed every {@link #flushInterval} milliseconds,
+ *     so they can write without immediate flush;</li>
+ *     <li>dropped events and the queue depth are exposed as counters, the dropped count of the never block mode is
+ *     approximate under contention.</li>
+ * </ul>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see LoggingExtApplicationListener
+ * @since 1.6.0
+ */
+public class BufferedAsyncAppender extends AsyncAppender {
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    /**
+     * the highest level which could be discarded.
+     */
+    @Setter
+    @Getter
+    private Level discardingLevel = Level.INFO;
+
+    /**
+     * the flush interval in milliseconds, {@code 0} to disable.
+     */
+    @Setter
+    @Getter
+    private long flushInterval = 1000;
+
+    private ScheduledFuture<?> flushFuture;
+
+    @Override
+    public void start() {
+        super.start();
+        if (isStarted() && flushInterval > 0) {
+            flushFuture = getContext().getScheduledExecutorService()
+                    .scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+            getContext().addScheduledFuture(flushFuture);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (flushFuture != null) {
+            flushFuture.cancel(false);
+            flushFuture = null;
+        }
+        super.stop();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (!isNeverBlock()) {
+            super.append(event);
+            return;
+        }
+
+        // a lock-free check, so the logging threads never wait on each other. The count is approximate: an offer
+        // which loses the last free slot to a concurrent one is dropped by the queue without being counted.
+        if (getRemainingCapacity() == 0) {
+            droppedCount.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        if (event.getLevel().toInt() <= discardingLevel.toInt()) {
+            droppedCount.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private void flush() {
+        iteratorForAppenders().forEachRemaining(appender -> {
+            if (appender instanceof OutputStreamAppender) {
+                final OutputStream outputStream = ((OutputStreamAppender<ILoggingEvent>) appender).getOutputStream();
+                if (outputStream != null) {
+                    try {
+                        outputStream.flush();
+                    } catch (IOException e) {
+                        addWarn("flush " + appender.getName() + " error", e);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * the count of the discarded and dropped events.
+     *
+     * @return dropped count
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * the count of the events waiting in the queue.
+     *
+     * @return queue depth
+     */
+    public int getQueueDepth() {
+        return getNumberOfElementsInQueue();
+    }
+
+}
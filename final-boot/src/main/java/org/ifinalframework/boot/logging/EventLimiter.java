@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free ratio sampler and token bucket for the events of one extension logger.
+ *
+ * <p>The token bucket is kept as a single timestamp (GCRA) updated by CAS, it allows {@code rate} events per second
+ * with a burst of {@code rate} events.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see SamplingFilter
+ * @since 1.6.0
+ */
+final class EventLimiter {
+
+    private final double ratio;
+
+    /**
+     * the nanoseconds of one token, {@code 0} for unlimited.
+     */
+    private final long interval;
+
+    private final long burst;
+
+    /**
+     * the bucket is empty at this time, it is full when {@code now - arrival >= burst}.
+     */
+    private final AtomicLong arrival;
+
+    private final LongAdder suppressed = new LongAdder();
+
+    /**
+     * @param ratio the sampling ratio in {@code (0, 1]}
+     * @param rate  the permitted events per second, {@code 0} for unlimited
+     */
+    EventLimiter(double ratio, long rate) {
+        if (ratio <= 0 || ratio > 1) {
+            throw new IllegalArgumentException("the sampling ratio must be in (0, 1], but " + ratio);
+        }
+        if (rate < 0) {
+            throw new IllegalArgumentException("the rate limit must not be negative, but " + rate);
+        }
+        this.ratio = ratio;
+        this.interval = rate == 0 ? 0 : Math.max(1, TimeUnit.SECONDS.toNanos(1) / rate);
+        this.burst = TimeUnit.SECONDS.toNanos(1);
+        this.arrival = new AtomicLong(System.nanoTime() - burst);
+    }
+
+    boolean tryAcquire() {
+        if (ratio < 1 && ThreadLocalRandom.current().nextDouble() >= ratio) {
+            suppressed.increment();
+            return false;
+        }
+        if (interval == 0) {
+            return true;
+        }
+        final long now = System.nanoTime();
+        while (true) {
+            final long current = arrival.get();
+            final long next = Math.max(current, now - burst) + interval;
+            if (next - now > 0) {
+                suppressed.increment();
+                return false;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * reset and return the suppressed count since the last call.
+     *
+     * @return suppressed count
+     */
+    long drainSuppressed() {
+        return suppressed.sumThenReset();
+    }
+
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.rolling.SizeAndTimeBasedRollingPolicy;
+import ch.qos.logback.core.spi.ContextAware;
+import ch.qos.logback.core.spi.LifeCycle;
+import ch.qos.logback.core.spi.ScanException;
+import ch.qos.logback.core.util.FileSize;
+import ch.qos.logback.core.util.OptionHelper;
+
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The extension loggers configured by {@code logging.logger.<name>=<file>}, which could be added, removed or re-pointed
+ * at runtime.
+ *
+ * <p>The loggers writing the same file share one appender. When a logger is re-pointed, the new appender is attached
+ * before the previous one is detached, and an appender no longer referenced is stopped after {@link #STOP_DELAY}
+ * milliseconds, so the events being appended by other threads are still written.</p>
+ *
+ * <p>The events of a logger could be sampled by {@code logging.logger-sampling.<name>} and rate limited by
+ * {@code logging.logger-rate-limit.<name>}, see {@link SamplingFilter}.</p>
+ *
+ * <pre class="code">
+ *      ExtensionLoggers.getInstance().addLogger("com.example.order", "order-debug.log", "DEBUG");
+ *      ExtensionLoggers.getInstance().removeLogger("com.example.order");
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see LoggingExtApplicationListener
+ * @since 1.6.0
+ */
+public class ExtensionLoggers {
+
+    /**
+     * the delay in milliseconds before stopping a detached appender.
+     */
+    public static final long STOP_DELAY = 1000;
+
+    private static final String FILE_LOG_PATTERN = "%d{${LOG_DATEFORMAT_PATTERN:yyyy-MM-dd HH:mm:ss.SSS}} "
+            + "${LOG_LEVEL_PATTERN:-%5p} ${PID:- } --- [%t] %-40.40logger{39} : %m%n${LOG_EXCEPTION_CONVERSION_WORD:-%wEx}";
+
+    private static final DataSize MAX_FILE_SIZE = DataSize.ofMegabytes(10);
+
+    private static final Integer MAX_FILE_HISTORY = 7;
+
+    private static final DataSize BUFFER_SIZE = DataSize.ofBytes(FileAppender.DEFAULT_BUFFER_SIZE);
+
+    private static final int ASYNC_QUEUE_SIZE = 1024;
+
+    private static final int ASYNC_MAX_FLUSH_TIME = 1000;
+
+    private static final long ASYNC_FLUSH_INTERVAL = 1000;
+
+    private static final long SUPPRESSED_REPORT_INTERVAL = 60000;
+
+    private static volatile ExtensionLoggers instance;
+
+    private final LoggerContext context;
+
+    private final PropertyResolver patterns;
+
+    private final String filePath;
+
+    /**
+     * the appenders keyed by the resolved log file path, shared by the loggers which write the same file.
+     */
+    private final Map<String, SharedAppender> appenders = new HashMap<>();
+
+    private final Map<String, ExtensionLogger> loggers = new LinkedHashMap<>();
+
+    public ExtensionLoggers(LoggerContext context, PropertyResolver patterns) {
+        this.context = context;
+        this.patterns = patterns;
+        this.filePath = patterns.getProperty("logging.file.path", "logs");
+    }
+
+    /**
+     * the extension loggers of the application, {@code null} before the environment is prepared.
+     *
+     * @return the extension loggers
+     */
+    @Nullable
+    public static ExtensionLoggers getInstance() {
+        return instance;
+    }
+
+    static void setInstance(ExtensionLoggers loggers) {
+        instance = loggers;
+    }
+
+    /**
+     * the extension loggers.
+     *
+     * @return logger name to the resolved log file path
+     */
+    public synchronized Map<String, String> getLoggers() {
+        final Map<String, String> result = new LinkedHashMap<>();
+        loggers.forEach((name, logger) -> result.put(name, logger.file));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * add the logger, or re-point it when it writes another file.
+     *
+     * @param name the logger name
+     * @param file the log file, relative to {@code logging.file.path}
+     * @throws ScanException if the file pattern is invalid
+     */
+    public void addLogger(String name, String file) throws ScanException {
+        addLogger(name, file, null);
+    }
+
+    /**
+     * add the logger, or re-point it when it writes another file.
+     *
+     * @param name  the logger name
+     * @param file  the log file, relative to {@code logging.file.path}
+     * @param level the logger level, {@code null} to keep the current level
+     * @throws ScanException if the file pattern is invalid
+     */
+    public synchronized void addLogger(String name, String file, @Nullable String level) throws ScanException {
+        final File logFile = new File(filePath, file);
+        final String key = logFile.getAbsoluteFile().toPath().normalize().toString();
+        final Logger logger = context.getLogger(name);
+        ExtensionLogger extension = loggers.get(name);
+
+        if (extension == null) {
+            extension = new ExtensionLogger(key, logger.getLevel());
+            logger.addAppender(acquire(key, logFile, name));
+            // the events go to both the parents and the file until here, none is lost
+            logger.setAdditive(false);
+            loggers.put(name, extension);
+        } else if (!key.equals(extension.file)) {
+            logger.addAppender(acquire(key, logFile, name));
+            logger.detachAppender(appenders.get(extension.file).appender);
+            release(extension.file, name);
+            extension.file = key;
+        }
+
+        if (level != null) {
+            logger.setLevel(Level.toLevel(level, logger.getLevel()));
+        }
+    }
+
+    /**
+     * remove the logger, its events go to the parents again.
+     *
+     * @param name the logger name
+     * @return {@code true} if the logger was an extension logger
+     */
+    public synchronized boolean removeLogger(String name) {
+        final ExtensionLogger extension = loggers.remove(name);
+        if (extension == null) {
+            return false;
+        }
+        final Logger logger = context.getLogger(name);
+        logger.setAdditive(true);
+        logger.detachAppender(appenders.get(extension.file).appender);
+        logger.setLevel(extension.level);
+        release(extension.file, name);
+        return true;
+    }
+
+    private Appender<ILoggingEvent> acquire(String key, File logFile, String name) throws ScanException {
+        SharedAppender shared = appenders.get(key);
+        if (shared == null) {
+            final Appender<ILoggingEvent> appender = appender(logFile.getPath());
+            final SamplingFilter filter = new SamplingFilter();
+            filter.setReportInterval(this.patterns.getProperty("logging.file.suppressed-report-interval", Long.class,
+                    SUPPRESSED_REPORT_INTERVAL));
+            start(filter);
+            appender.addFilter(filter);
+            shared = new SharedAppender(appender, filter);
+            appenders.put(key, shared);
+        }
+        shared.filter.setLimiter(name, limiter(name));
+        shared.references++;
+        return shared.appender;
+    }
+
+    private void release(String key, String name) {
+        final SharedAppender shared = appenders.get(key);
+        shared.filter.setLimiter(name, null);
+        if (--shared.references > 0) {
+            return;
+        }
+        appenders.remove(key);
+        // a thread may still be appending to the detached appender
+        context.getScheduledExecutorService().schedule(() -> {
+            shared.appender.stop();
+            shared.filter.stop();
+        }, STOP_DELAY, TimeUnit.MILLISECONDS);
+    }
+
+    @Nullable
+    private EventLimiter limiter(String name) {
+        final Double ratio = this.patterns.getProperty("logging.logger-sampling." + name, Double.class);
+        final Long rate = this.patterns.getProperty("logging.logger-rate-limit." + name, Long.class);
+        if (ratio == null && rate == null) {
+            return null;
+        }
+        return new EventLimiter(ratio == null ? 1 : ratio, rate == null ? 0 : rate);
+    }
+
+    private Appender<ILoggingEvent> appender(final String logFile) throws ScanException {
+        final boolean async = this.patterns.getProperty("logging.file.async.enabled", Boolean.class, false);
+        final Appender<ILoggingEvent> appender = fileAppender(logFile, async);
+        return async ? asyncAppender(appender, logFile) : appender;
+    }
+
+    private Appender<ILoggingEvent> asyncAppender(final Appender<ILoggingEvent> fileAppender, final String logFile) {
+        BufferedAsyncAppender appender = new BufferedAsyncAppender();
+        appender.setQueueSize(this.patterns.getProperty("logging.file.async.queue-size", Integer.class, ASYNC_QUEUE_SIZE));
+        appender.setDiscardingThreshold(
+                this.patterns.getProperty("logging.file.async.discarding-threshold", Integer.class, -1));
+        appender.setDiscardingLevel(
+                Level.toLevel(this.patterns.getProperty("logging.file.async.discarding-level"), Level.INFO));
+        appender.setNeverBlock(this.patterns.getProperty("logging.file.async.never-block", Boolean.class, false));
+        appender.setMaxFlushTime(
+                this.patterns.getProperty("logging.file.async.max-flush-time", Integer.class, ASYNC_MAX_FLUSH_TIME));
+        appender.setFlushInterval(
+                this.patterns.getProperty("logging.file.async.flush-interval", Long.class, ASYNC_FLUSH_INTERVAL));
+        appender.setIncludeCallerData(
+                this.patterns.getProperty("logging.file.async.include-caller-data", Boolean.class, false));
+        appender.setName("ASYNC-" + logFile.toUpperCase(Locale.ROOT));
+        appender.addAppender(fileAppender);
+
+        start(appender);
+
+        return appender;
+    }
+
+    private Appender<ILoggingEvent> fileAppender(final String logFile, final boolean async) throws ScanException {
+        RollingFileAppender<ILoggingEvent> appender = new RollingFileAppender<>();
+        Encoder<ILoggingEvent> encoder = encoder();
+        appender.setEncoder(encoder);
+        start(encoder);
+        appender.setFile(logFile);
+        appender.setBufferSize(new FileSize(getDataSize("logging.file.buffer-size", BUFFER_SIZE).toBytes()));
+        // the async appender flushes periodically
+        appender.setImmediateFlush(this.patterns.getProperty("logging.file.immediate-flush", Boolean.class, !async));
+        setRollingPolicy(appender, logFile);
+
+        appender.setName(logFile.toUpperCase(Locale.ROOT));
+
+        start(appender);
+
+        return appender;
+    }
+
+    private Encoder<ILoggingEvent> encoder() throws ScanException {
+        if ("json".equalsIgnoreCase(this.patterns.getProperty("logging.file.format"))) {
+            return new JsonLineEncoder();
+        }
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        String logPattern = this.patterns.getProperty("logging.pattern.file", FILE_LOG_PATTERN);
+        encoder.setPattern(OptionHelper.substVars(logPattern, context));
+        return encoder;
+    }
+
+    private void setRollingPolicy(final RollingFileAppender<ILoggingEvent> appender, String logFile) {
+        SizeAndTimeBasedRollingPolicy<ILoggingEvent> rollingPolicy = new SizeAndTimeBasedRollingPolicy<>();
+        rollingPolicy.setContext(context);
+        rollingPolicy.setCleanHistoryOnStart(
+                this.patterns.getProperty("logging.file.clean-history-on-start", Boolean.class, false));
+        rollingPolicy.setFileNamePattern(
+                logFile + this.patterns.getProperty("logging.pattern.rolling-file-suffix", ".%d{yyyy-MM-dd}.%i"));
+        setMaxFileSize(rollingPolicy, getDataSize("logging.file.max-size", MAX_FILE_SIZE));
+        rollingPolicy
+                .setMaxHistory(this.patterns.getProperty("logging.file.max-history", Integer.class, MAX_FILE_HISTORY));
+        DataSize totalSizeCap = getDataSize("logging.file.total-size-cap",
+                DataSize.ofBytes(CoreConstants.UNBOUNDED_TOTAL_SIZE_CAP));
+        rollingPolicy.setTotalSizeCap(new FileSize(totalSizeCap.toBytes()));
+        appender.setRollingPolicy(rollingPolicy);
+        rollingPolicy.setParent(appender);
+        start(rollingPolicy);
+    }
+
+    private void setMaxFileSize(final SizeAndTimeBasedRollingPolicy<ILoggingEvent> rollingPolicy, final DataSize maxFileSize) {
+        try {
+            rollingPolicy.setMaxFileSize(new FileSize(maxFileSize.toBytes()));
+        } catch (NoSuchMethodError ex) {
+            // Logback < 1.1.8 used String configuration
+            Method method = ReflectionUtils.findMethod(SizeAndTimeBasedRollingPolicy.class, "setMaxFileSize",
+                    String.class);
+            ReflectionUtils.invokeMethod(method, rollingPolicy, String.valueOf(maxFileSize.toBytes()));
+        }
+    }
+
+    private DataSize getDataSize(final String property, final DataSize defaultSize) {
+        String value = this.patterns.getProperty(property);
+        if (value == null) {
+            return defaultSize;
+        }
+        try {
+            return DataSize.parse(value);
+        } catch (IllegalArgumentException ex) {
+            FileSize fileSize = FileSize.valueOf(value);
+            return DataSize.ofBytes(fileSize.getSize());
+        }
+    }
+
+    private void start(final LifeCycle lifeCycle) {
+        if (lifeCycle instanceof ContextAware) {
+            ((ContextAware) lifeCycle).setContext(context);
+        }
+        lifeCycle.start();
+    }
+
+    private static final class SharedAppender {
+
+        private final Appender<ILoggingEvent> appender;
+
+        private final SamplingFilter filter;
+
+        private int references;
+
+        private SharedAppender(Appender<ILoggingEvent> appender, SamplingFilter filter) {
+            this.appender = appender;
+            this.filter = filter;
+        }
+    }
+
+    private static final class ExtensionLogger {
+
+        private String file;
+
+        /**
+         * the level before the logger was added.
+         */
+        @Nullable
+        private final Level level;
+
+        private ExtensionLogger(String file, @Nullable Level level) {
+            this.file = file;
+            this.level = level;
+        }
+    }
+
+}
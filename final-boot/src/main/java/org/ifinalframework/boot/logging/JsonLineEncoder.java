@@ -0,0 +1,173 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Encode {@link ILoggingEvent} into one JSON line, the MDC properties (e.g. {@code trace}) are written as top level fields.
+ *
+ * <pre class="code">
+ * {"timestamp":"2024-01-01T00:00:00.000Z","level":"INFO","thread":"main","logger":"audit","trace":"...","message":"..."}
+ * </pre>
+ *
+ * <p>The line is built in a thread local {@link StringBuilder} and encoded through a thread local {@link ByteBuffer},
+ * only the returned byte array is allocated for each event.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see LoggingExtApplicationListener
+ * @since 1.6.0
+ */
+public class JsonLineEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final Set<String> FIELDS = new HashSet<>(
+            Arrays.asList("timestamp", "level", "thread", "logger", "message", "exception"));
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        final Buffers buffers = BUFFERS.get();
+        final StringBuilder json = buffers.json;
+        json.setLength(0);
+
+        json.append("{\"timestamp\":\"");
+        DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(event.getTimeStamp()), json);
+        json.append("\",\"level\":\"").append(event.getLevel().levelStr);
+        field(json, "thread", event.getThreadName());
+        field(json, "logger", event.getLoggerName());
+
+        final Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null) {
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                if (!FIELDS.contains(entry.getKey())) {
+                    field(json, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        field(json, "message", event.getFormattedMessage());
+
+        final IThrowableProxy throwableProxy = event.getThrowableProxy();
+        if (throwableProxy != null) {
+            field(json, "exception", ThrowableProxyUtil.asString(throwableProxy));
+        }
+        json.append("\"}\n");
+
+        final byte[] bytes = buffers.encode(json);
+        if (json.capacity() > MAX_RETAINED_CAPACITY) {
+            // do not retain the buffers of a huge stack trace
+            BUFFERS.remove();
+        }
+        return bytes;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    private static void field(StringBuilder json, String name, String value) {
+        json.append("\",\"");
+        escape(json, name);
+        json.append("\":\"");
+        escape(json, value);
+    }
+
+    private static void escape(StringBuilder json, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0, length = value.length(); i < length; i++) {
+            final char ch = value.charAt(i);
+            switch (ch) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (ch < 0x20) {
+                        json.append("\\u00").append(HEX[ch >> 4]).append(HEX[ch & 0xF]);
+                    } else {
+                        json.append(ch);
+                    }
+            }
+        }
+    }
+
+    private static final class Buffers {
+
+        private final StringBuilder json = new StringBuilder(INITIAL_CAPACITY);
+
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        private ByteBuffer bytes = ByteBuffer.allocate(INITIAL_CAPACITY * 2);
+
+        private byte[] encode(CharSequence chars) {
+            while (true) {
+                bytes.clear();
+                encoder.reset();
+                final CoderResult result = encoder.encode(CharBuffer.wrap(chars), bytes, true);
+                if (!result.isOverflow() && !encoder.flush(bytes).isOverflow()) {
+                    return Arrays.copyOf(bytes.array(), bytes.position());
+                }
+                bytes = ByteBuffer.allocate(bytes.capacity() * 2);
+            }
+        }
+    }
+
+}
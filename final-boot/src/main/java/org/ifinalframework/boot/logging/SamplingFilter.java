@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sample and rate limit the events of the extension loggers on their appender.
+ *
+ * <pre class="code">
+ * logging.logger-sampling.com.example.order=0.1
+ * logging.logger-rate-limit.com.example.order=1000
+ * </pre>
+ *
+ * <p>An event is limited by its nearest configured logger, the resolved limiter of each logger name is cached, so the
+ * filter path only reads a {@link ConcurrentHashMap} and updates atomic counters. The suppressed counts are logged
+ * every {@link #reportInterval} milliseconds.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see ExtensionLoggers
+ * @since 1.6.0
+ */
+@Slf4j
+public class SamplingFilter extends Filter<ILoggingEvent> {
+
+    private static final EventLimiter UNLIMITED = new EventLimiter(1, 0);
+
+    private final Map<String, EventLimiter> limiters = new ConcurrentHashMap<>();
+
+    private final Map<String, EventLimiter> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * the report interval of the suppressed counts in milliseconds, {@code 0} to disable.
+     */
+    @Setter
+    @Getter
+    private long reportInterval = 60000;
+
+    private ScheduledFuture<?> reportFuture;
+
+    @Override
+    public void start() {
+        super.start();
+        if (reportInterval > 0) {
+            reportFuture = getContext().getScheduledExecutorService()
+                    .scheduleWithFixedDelay(this::report, reportInterval, reportInterval, TimeUnit.MILLISECONDS);
+            getContext().addScheduledFuture(reportFuture);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (reportFuture != null) {
+            reportFuture.cancel(false);
+            reportFuture = null;
+        }
+        report();
+        super.stop();
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (limiters.isEmpty()) {
+            return FilterReply.NEUTRAL;
+        }
+        final String loggerName = event.getLoggerName();
+        EventLimiter limiter = resolved.get(loggerName);
+        if (limiter == null) {
+            limiter = resolved.computeIfAbsent(loggerName, this::resolve);
+        }
+        return limiter.tryAcquire() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    /**
+     * set the limiter of the logger.
+     *
+     * @param name    the logger name
+     * @param limiter the limiter, {@code null} to remove
+     */
+    void setLimiter(String name, @Nullable EventLimiter limiter) {
+        final EventLimiter previous = limiter == null ? limiters.remove(name) : limiters.put(name, limiter);
+        if (previous != null) {
+            report(name, previous);
+        }
+        resolved.clear();
+    }
+
+    private EventLimiter resolve(String loggerName) {
+        String name = loggerName;
+        while (true) {
+            final EventLimiter limiter = limiters.get(name);
+            if (limiter != null) {
+                return limiter;
+            }
+            final int index = name.lastIndexOf('.');
+            if (index < 0) {
+                return UNLIMITED;
+            }
+            name = name.substring(0, index);
+        }
+    }
+
+    private void report() {
+        limiters.forEach(SamplingFilter::report);
+    }
+
+    private static void report(String name, EventLimiter limiter) {
+        final long suppressed = limiter.drainSuppressed();
+        if (suppressed > 0) {
+            logger.warn("suppressed {} events of logger {} by sampling and rate limit", suppressed, name);
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.env;
+
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.util.StringUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the extension index of {@link PropertySourceLoaders} with the nested loop over loaders and extensions.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertySourceLoadersBenchmark {
+
+    private static final int RESOURCES = 1000;
+
+    private static final String[] EXTENSIONS = {"properties", "xml", "yml", "yaml", "json"};
+
+    private List<PropertySourceLoader> propertySourceLoaders;
+
+    private PropertySourceLoaders loaders;
+
+    private String[] filenames;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PropertySourceLoadersBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setup() {
+        propertySourceLoaders = SpringFactoriesLoader.loadFactories(PropertySourceLoader.class, getClass().getClassLoader());
+        loaders = new PropertySourceLoaders(new DefaultResourceLoader());
+        filenames = new String[RESOURCES];
+        for (int i = 0; i < RESOURCES; i++) {
+            filenames[i] = "application-" + i + "." + EXTENSIONS[i % EXTENSIONS.length];
+        }
+    }
+
+    @Benchmark
+    public void nestedLoop(Blackhole blackhole) {
+        for (String filename : filenames) {
+            for (PropertySourceLoader loader : propertySourceLoaders) {
+                for (String fileExtension : loader.getFileExtensions()) {
+                    if (StringUtils.endsWithIgnoreCase(filename, fileExtension)) {
+                        blackhole.consume(loader);
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void extensionIndex(Blackhole blackhole) {
+        for (String filename : filenames) {
+            blackhole.consume(loaders.getPropertySourceLoader(filename));
+        }
+    }
+
+}
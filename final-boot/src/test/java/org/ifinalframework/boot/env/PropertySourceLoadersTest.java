@@ -2,14 +2,17 @@ package org.ifinalframework.boot.env;
 
 import org.springframework.boot.env.PropertiesPropertySourceLoader;
 import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.support.SpringFactoriesLoader;
 import org.springframework.util.CollectionUtils;
 
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -51,4 +54,30 @@ class PropertySourceLoadersTest {
         assertEquals("SELECT 1", context.getEnvironment().getProperty("spring.datasource.druid.validation-query"));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void loadParallel() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(PropertySourceLoadersTest.class);
+        PropertySourceLoaders loaders = new PropertySourceLoaders(context);
+        List<PropertySource<?>> serial = loaders.load("classpath:application.yml", "classpath:application-ha*");
+
+        loaders.setParallel(true);
+        loaders.setCache(true);
+        List<PropertySource<?>> parallel = loaders.load("classpath:application.yml", "classpath:application-ha*");
+
+        assertEquals(serial.stream().map(PropertySource::getName).collect(Collectors.toList()),
+                parallel.stream().map(PropertySource::getName).collect(Collectors.toList()));
+        assertSame(parallel.get(0), loaders.load("classpath:application.yml").get(0));
+    }
+
+    @Test
+    void getPropertySourceLoader() {
+        PropertySourceLoaders loaders = new PropertySourceLoaders(new DefaultResourceLoader());
+        assertEquals(PropertiesPropertySourceLoader.class, loaders.getPropertySourceLoader("application.PROPERTIES").getClass());
+        assertEquals(YamlPropertySourceLoader.class, loaders.getPropertySourceLoader("application.yml").getClass());
+        assertEquals(YamlPropertySourceLoader.class, loaders.getPropertySourceLoader("application.yaml").getClass());
+        assertNull(loaders.getPropertySourceLoader("application.json"));
+        assertNull(loaders.getPropertySourceLoader("application"));
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.env;
+
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import lombok.SneakyThrows;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PropertySourceWatcherTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class PropertySourceWatcherTest {
+
+    @TempDir
+    Path temp;
+
+    private MutablePropertySources propertySources;
+
+    private BlockingQueue<PropertySourceChangedEvent> events;
+
+    private PropertySourceWatcher watcher;
+
+    private PropertySourceLoaders loaders;
+
+    @BeforeEach
+    void setup() {
+        propertySources = new MutablePropertySources();
+        events = new LinkedBlockingQueue<>();
+        watcher = new PropertySourceWatcher(propertySources, event -> events.add((PropertySourceChangedEvent) event));
+        loaders = new PropertySourceLoaders(new DefaultResourceLoader());
+        loaders.setWatcher(watcher);
+    }
+
+    @Test
+    @SneakyThrows
+    void reload() {
+        final Path file = write(temp.resolve("watch.properties"), "a=1\nb=2\nc=3\n");
+        try (PropertySourceWatcher ignore = watcher) {
+            loaders.load("file:" + file).forEach(propertySources::addLast);
+            watcher.start();
+
+            write(file, "a=1\nb=20\nd=4\n");
+
+            final PropertySourceChangedEvent event = events.poll(30, TimeUnit.SECONDS);
+            assertNotNull(event);
+            assertEquals(file, event.getResource().getFile().toPath());
+            // changed, removed and added keys
+            assertEquals(Set.of("b", "c", "d"), event.getKeys());
+
+            final PropertySource<?> propertySource = propertySources.get("watch.properties");
+            assertNotNull(propertySource);
+            assertEquals("1", propertySource.getProperty("a"));
+            assertEquals("20", propertySource.getProperty("b"));
+            assertNull(propertySource.getProperty("c"));
+            assertEquals("4", propertySource.getProperty("d"));
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void reloadSameName() {
+        final Path first = write(Files.createDirectories(temp.resolve("first")).resolve("app.properties"), "a=1\n");
+        final Path second = write(Files.createDirectories(temp.resolve("second")).resolve("app.properties"), "a=2\n");
+        try (PropertySourceWatcher ignore = watcher) {
+            final List<PropertySource<?>> loaded = loaders.load("file:" + first, "file:" + second);
+            assertEquals(2, loaded.size());
+            // the later one replaces the former of the same name
+            loaded.forEach(propertySources::addLast);
+            watcher.start();
+
+            write(first, "a=10\n");
+
+            final PropertySourceChangedEvent event = events.poll(30, TimeUnit.SECONDS);
+            assertNotNull(event);
+            assertEquals(first, event.getResource().getFile().toPath());
+            assertEquals(Set.of("a"), event.getKeys());
+            assertEquals("2", propertySources.get("app.properties").getProperty("a"));
+        }
+    }
+
+    /**
+     * write to a temp file and move it, so the watcher sees one complete file.
+     */
+    private Path write(Path file, String content) throws IOException {
+        final Path tmp = Files.writeString(temp.resolve(file.getFileName() + ".tmp"), content);
+        return Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+                .toAbsolutePath().normalize();
+    }
+
+}
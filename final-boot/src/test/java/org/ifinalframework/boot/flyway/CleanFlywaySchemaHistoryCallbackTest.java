@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.flyway;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * CleanFlywaySchemaHistoryCallbackTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class CleanFlywaySchemaHistoryCallbackTest {
+
+    @TempDir
+    Path migrations;
+
+    private String url;
+
+    @BeforeEach
+    void setup() throws IOException {
+        // unquoted identifiers are lower case as the schema history table created by flyway
+        url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE";
+        for (int i = 1; i <= 5; i++) {
+            Files.writeString(migrations.resolve("V" + i + "__t" + i + ".sql"), "CREATE TABLE t" + i + " (id INT);");
+        }
+        Files.writeString(migrations.resolve("R__v.sql"), "CREATE OR REPLACE VIEW v AS SELECT id FROM t1;");
+    }
+
+    @Test
+    void clean() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE flyway_schema_history (installed_rank INT PRIMARY KEY)");
+                statement.execute("INSERT INTO flyway_schema_history VALUES (1), (2)");
+            }
+            final Context context = Mockito.mock(Context.class);
+            when(context.getConnection()).thenReturn(connection);
+            when(context.getConfiguration()).thenReturn(Mockito.mock(Configuration.class));
+
+            new CleanFlywaySchemaHistoryCallback().handle(Event.AFTER_MIGRATE_OPERATION_FINISH, context);
+        }
+
+        assertEquals(0, count());
+    }
+
+    @Test
+    void retain() throws Exception {
+        final CleanFlywaySchemaHistoryCallback callback = new CleanFlywaySchemaHistoryCallback();
+        callback.setRetain(1);
+        final FluentConfiguration configuration = configure(callback).ignoreMigrationPatterns("*:future", "*:ignored");
+
+        assertEquals(6, configuration.load().migrate().migrationsExecuted);
+        // V1 to V4 are deleted, the last version V5 and the repeatable R__v are kept
+        assertEquals(2, count());
+
+        // V1 to V4 are ignored
+        Files.writeString(migrations.resolve("V6__t6.sql"), "CREATE TABLE t6 (id INT);");
+        assertEquals(1, configuration.load().migrate().migrationsExecuted);
+        assertEquals(2, count());
+
+        final Flyway flyway = configuration.load();
+        assertEquals(0, flyway.migrate().migrationsExecuted);
+        assertDoesNotThrow(flyway::validate);
+    }
+
+    @Test
+    void retainIncompatible() throws Exception {
+        final CleanFlywaySchemaHistoryCallback callback = new CleanFlywaySchemaHistoryCallback();
+        callback.setRetain(1);
+        final FluentConfiguration configuration = configure(callback);
+
+        configuration.load().migrate();
+        assertEquals(6, count());
+
+        Files.writeString(migrations.resolve("V6__t6.sql"), "CREATE TABLE t6 (id INT);");
+        assertEquals(1, configuration.load().migrate().migrationsExecuted);
+        assertEquals(7, count());
+    }
+
+    private FluentConfiguration configure(CleanFlywaySchemaHistoryCallback callback) {
+        return Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("filesystem:" + migrations)
+                .callbacks(callback);
+    }
+
+    private int count() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM flyway_schema_history")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+}
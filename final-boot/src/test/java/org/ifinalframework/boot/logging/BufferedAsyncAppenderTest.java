@@ -0,0 +1,179 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.OutputStreamAppender;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import lombok.SneakyThrows;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BufferedAsyncAppenderTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class BufferedAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    private final BlockingAppender blocking = new BlockingAppender();
+
+    private final BufferedAsyncAppender appender = new BufferedAsyncAppender();
+
+    private Logger logger;
+
+    @BeforeEach
+    void setup() {
+        blocking.setContext(context);
+        blocking.start();
+
+        appender.setContext(context);
+        appender.addAppender(blocking);
+        appender.setFlushInterval(0);
+
+        logger = context.getLogger("buffered");
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        blocking.release.countDown();
+        context.stop();
+    }
+
+    @Test
+    @SneakyThrows
+    void discardByLevel() {
+        appender.setQueueSize(4);
+        appender.setDiscardingThreshold(2);
+        appender.setDiscardingLevel(Level.INFO);
+        appender.start();
+        hold();
+
+        logger.warn("1");
+        logger.warn("2");
+        logger.warn("3");
+        // the remaining capacity is below the threshold
+        logger.info("discarded");
+        logger.error("4");
+
+        assertEquals(1, appender.getDroppedCount());
+        assertEquals(4, appender.getQueueDepth());
+
+        blocking.release.countDown();
+        appender.stop();
+        assertEquals(List.of("hold", "1", "2", "3", "4"), blocking.messages);
+    }
+
+    @Test
+    @SneakyThrows
+    void neverBlock() {
+        appender.setQueueSize(2);
+        appender.setDiscardingThreshold(0);
+        appender.setNeverBlock(true);
+        appender.start();
+        hold();
+
+        for (int i = 0; i < 5; i++) {
+            logger.error(String.valueOf(i));
+        }
+
+        assertEquals(3, appender.getDroppedCount());
+        assertEquals(2, appender.getQueueDepth());
+
+        blocking.release.countDown();
+        appender.stop();
+        assertEquals(List.of("hold", "0", "1"), blocking.messages);
+        assertEquals(0, appender.getQueueDepth());
+    }
+
+    @Test
+    @SneakyThrows
+    void scheduledFlush() {
+        final CountDownLatch flushed = new CountDownLatch(1);
+        final PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%msg");
+        encoder.start();
+        final OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setEncoder(encoder);
+        output.setImmediateFlush(false);
+        output.setOutputStream(new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushed.countDown();
+            }
+        });
+        output.start();
+
+        appender.detachAppender(blocking);
+        appender.addAppender(output);
+        appender.setFlushInterval(10);
+        appender.start();
+
+        assertTrue(flushed.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * block the worker with the first event, so the later events stay in the queue.
+     */
+    private void hold() throws InterruptedException {
+        logger.error("hold");
+        assertTrue(blocking.taken.await(5, TimeUnit.SECONDS));
+    }
+
+    private static final class BlockingAppender extends AppenderBase<ILoggingEvent> {
+
+        private final CountDownLatch taken = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            taken.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(event.getFormattedMessage());
+        }
+    }
+
+}
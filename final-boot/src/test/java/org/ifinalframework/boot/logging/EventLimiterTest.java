@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EventLimiterTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class EventLimiterTest {
+
+    @Test
+    void rateLimit() {
+        EventLimiter limiter = new EventLimiter(1, 10);
+        int acquired = 0;
+        for (int i = 0; i < 100; i++) {
+            if (limiter.tryAcquire()) {
+                acquired++;
+            }
+        }
+        // one second burst, maybe one more token refilled while looping
+        assertTrue(acquired >= 10 && acquired <= 11, "acquired " + acquired);
+        assertEquals(100 - acquired, limiter.drainSuppressed());
+        assertEquals(0, limiter.drainSuppressed());
+    }
+
+    @Test
+    void sampling() {
+        EventLimiter limiter = new EventLimiter(0.1, 0);
+        int acquired = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (limiter.tryAcquire()) {
+                acquired++;
+            }
+        }
+        assertTrue(acquired > 500 && acquired < 1500, "acquired " + acquired);
+    }
+
+    @Test
+    void invalidRatio() {
+        assertThrows(IllegalArgumentException.class, () -> new EventLimiter(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new EventLimiter(1.5, 0));
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+
+import lombok.SneakyThrows;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExtensionLoggersTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class ExtensionLoggersTest {
+
+    @TempDir
+    Path directory;
+
+    private final LoggerContext context = new LoggerContext();
+
+    private ExtensionLoggers loggers;
+
+    @BeforeEach
+    void setup() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test",
+                Collections.singletonMap("logging.file.path", directory.toString())));
+        loggers = new ExtensionLoggers(context, environment);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    @SneakyThrows
+    void addLogger() {
+        loggers.addLogger("audit", "audit.log", "DEBUG");
+        Logger logger = context.getLogger("audit");
+
+        assertFalse(logger.isAdditive());
+        assertEquals(Level.DEBUG, logger.getLevel());
+        assertEquals(directory.resolve("audit.log").toString(), loggers.getLoggers().get("audit"));
+
+        logger.debug("hello");
+        assertTrue(Files.readString(directory.resolve("audit.log"), StandardCharsets.UTF_8).contains("hello"));
+    }
+
+    @Test
+    @SneakyThrows
+    void sharedAppender() {
+        loggers.addLogger("audit", "audit.log");
+        loggers.addLogger("access", "audit.log");
+
+        assertSame(appender(context.getLogger("audit")), appender(context.getLogger("access")));
+    }
+
+    @Test
+    @SneakyThrows
+    void repointLogger() {
+        loggers.addLogger("audit", "audit.log");
+        Logger logger = context.getLogger("audit");
+        Appender<ILoggingEvent> previous = appender(logger);
+
+        loggers.addLogger("audit", "audit-debug.log");
+        Appender<ILoggingEvent> current = appender(logger);
+
+        assertNotSame(previous, current);
+        assertFalse(logger.isAttached(previous));
+        assertEquals(directory.resolve("audit-debug.log").toString(), loggers.getLoggers().get("audit"));
+    }
+
+    @Test
+    @SneakyThrows
+    void removeLogger() {
+        loggers.addLogger("audit", "audit.log", "DEBUG");
+        Logger logger = context.getLogger("audit");
+
+        assertTrue(loggers.removeLogger("audit"));
+        assertFalse(loggers.removeLogger("audit"));
+
+        assertTrue(logger.isAdditive());
+        assertNull(logger.getLevel());
+        assertFalse(logger.iteratorForAppenders().hasNext());
+        assertTrue(loggers.getLoggers().isEmpty());
+    }
+
+    private static Appender<ILoggingEvent> appender(Logger logger) {
+        Iterator<Appender<ILoggingEvent>> iterator = logger.iteratorForAppenders();
+        Appender<ILoggingEvent> appender = iterator.next();
+        assertFalse(iterator.hasNext());
+        return appender;
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.util.FileSize;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Events per second of the extension file appender with {@code logging.file.immediate-flush} and
+ * {@code logging.file.buffer-size}, the first parameter set is the previous setup.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileAppenderBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss.SSS} %5p --- [%t] %-40.40logger{39} : %-36X{trace} : %m%n";
+
+    @Param({"true", "false"})
+    public boolean immediateFlush;
+
+    @Param({"8KB", "256KB"})
+    public String bufferSize;
+
+    private final LoggerContext context = new LoggerContext();
+
+    private Path directory;
+
+    private FileAppender<ILoggingEvent> appender;
+
+    private ILoggingEvent event;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FileAppenderBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("file-appender-benchmark");
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setFile(directory.resolve("audit.log").toString());
+        appender.setImmediateFlush(immediateFlush);
+        appender.setBufferSize(FileSize.valueOf(bufferSize));
+        appender.start();
+
+        Logger logger = context.getLogger("audit");
+        event = new LoggingEvent(Logger.FQCN, logger, Level.INFO, "audit event {} of user {}", null,
+                new Object[]{"login", 10086L});
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        appender.stop();
+        context.stop();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public void append() {
+        appender.doAppend(event);
+    }
+
+}
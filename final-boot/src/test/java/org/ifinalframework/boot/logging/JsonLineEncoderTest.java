@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.boot.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JsonLineEncoderTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class JsonLineEncoderTest {
+
+    @Test
+    void encode() {
+        LoggerContext context = new LoggerContext();
+        Logger logger = context.getLogger("audit");
+        LoggingEvent event = new LoggingEvent(Logger.FQCN, logger, Level.INFO, "user \"{}\"\nlogin", null,
+                new Object[]{"haha"});
+        event.setTimeStamp(0L);
+        event.setThreadName("main");
+        event.setMDCPropertyMap(Collections.singletonMap("trace", "abc"));
+
+        JsonLineEncoder encoder = new JsonLineEncoder();
+        encoder.setContext(context);
+        encoder.start();
+
+        String line = new String(encoder.encode(event), StandardCharsets.UTF_8);
+        assertEquals("{\"timestamp\":\"1970-01-01T00:00:00Z\",\"level\":\"INFO\",\"thread\":\"main\",\"logger\":\"audit\","
+                + "\"trace\":\"abc\",\"message\":\"user \\\"haha\\\"\\nlogin\"}\n", line);
+    }
+}